@@ -0,0 +1,88 @@
+package com.configurable;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ *  Binds Configuration subclasses with 20 and 200 {@link Property} fields, which build.gradle generates. The fields of
+ *  {@code Fields20} and {@code Fields200} are public, so each gets a generated {@link Binder}, while those of
+ *  {@code PrivateFields20} and {@code PrivateFields200} are private and are bound reflectively.
+ *
+ *  {@link #fieldGet} reads the fields the way binding used to, through {@link Field#get(Object)}, {@link #methodHandle}
+ *  reads them through the getters {@link Metadata} holds for reflective classes, and {@link #binder} through the
+ *  generated Binder.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BindBenchmark {
+
+    @Param({ "20", "200" })
+    public int fields;
+
+    private Supplier<Configuration> generated;
+    private Supplier<Configuration> reflected;
+    private Configuration configuration;
+    private Configuration privateConfiguration;
+    private List<Field> properties;
+    private List<Metadata.Entry> entries;
+    private Binder<?> binder;
+
+    @Setup
+    public void setUp() {
+        this.generated = (this.fields == 20) ? Fields20::new : Fields200::new;
+        this.reflected = (this.fields == 20) ? PrivateFields20::new : PrivateFields200::new;
+        this.configuration = this.generated.get();
+        this.privateConfiguration = this.reflected.get();
+        this.properties = new ArrayList<>();
+        for (final Field field : this.privateConfiguration.getClass().getDeclaredFields()) {
+            if (field.isAnnotationPresent(Property.class)) {
+                this.properties.add(field);
+            }
+        }
+        this.entries = Metadata.of(this.privateConfiguration.getClass()).getEntries();
+        this.binder = Objects.requireNonNull(Binder.find(this.configuration.getClass()), "No Binder was generated");
+    }
+
+    @Benchmark
+    public Object bind() {
+        return this.generated.get().get("property0");
+    }
+
+    @Benchmark
+    public Object bindReflectively() {
+        return this.reflected.get().get("property0");
+    }
+
+    @Benchmark
+    public void fieldGet(final Blackhole blackhole) throws IllegalAccessException {
+        for (final Field field : this.properties) {
+            field.setAccessible(true);
+            blackhole.consume(field.get(this.privateConfiguration));
+        }
+    }
+
+    @Benchmark
+    public void methodHandle(final Blackhole blackhole) {
+        for (final Metadata.Entry entry : this.entries) {
+            blackhole.consume(entry.getValue(this.privateConfiguration));
+        }
+    }
+
+    @Benchmark
+    public void binder(final Blackhole blackhole) {
+        for (int index = 0; index < this.binder.size(); index++) {
+            blackhole.consume(this.binder.getValue(this.configuration, index));
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.configurable;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ *  Reads one property by name and through a {@link Key}, and one nested value through a {@link PropertyPath} and by
+ *  looking up each level in turn
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class KeyBenchmark {
+
+    @Param({ "SNAPSHOT", "STAMPED", "DENSE" })
+    public Configuration.Mode mode;
+
+    private final Key<Integer> key = Configuration.key("property42", Integer.class);
+    private final PropertyPath<Integer> path = Configuration.path("db.pool.size", Integer.class);
+    private Configuration configuration;
+
+    @Setup
+    public void setUp() {
+        this.configuration = new Configuration(this.mode);
+        for (int index = 0; index < 100; index++) {
+            this.configuration.set("property" + index, index);
+        }
+        this.configuration.set("db", PersistentMap.of(Collections.singletonMap("pool", PersistentMap.of(Collections.singletonMap("size", 10)))));
+    }
+
+    @Benchmark
+    public Object getByName() {
+        return this.configuration.get("property42");
+    }
+
+    @Benchmark
+    public Integer getByKey() {
+        return this.key.get(this.configuration);
+    }
+
+    @Benchmark
+    public Integer getByPath() {
+        return this.path.get(this.configuration);
+    }
+
+    @Benchmark
+    public Object getByWalking() {
+        final Map<?, ?> db = (Map<?, ?>) this.configuration.get("db");
+        return ((Map<?, ?>) db.get("pool")).get("size");
+    }
+}
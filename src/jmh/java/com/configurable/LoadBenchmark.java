@@ -0,0 +1,116 @@
+package com.configurable;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonParser;
+import com.google.gson.JsonPrimitive;
+import com.google.gson.stream.JsonReader;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.*;
+import java.nio.file.Files;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ *  Loads the same properties from pretty printed Json, from a binary snapshot and by mapping that snapshot.
+ *  {@link #readTree} decodes the Json the way loading used to, into a Gson tree which is then copied into maps and
+ *  lists, but does not apply them. Run with {@code -prof gc} to compare the allocation of each path as well.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class LoadBenchmark {
+
+    @Param({ "1000", "100000" })
+    public int properties;
+
+    private File directory;
+    private File json;
+    private File snapshot;
+
+    @Setup
+    public void setUp() throws IOException {
+        this.directory = Files.createTempDirectory("configurable").toFile();
+        this.json = new File(this.directory, "config.json");
+        this.snapshot = new File(this.directory, "config.snapshot");
+
+        final Random random = new Random(42);
+        final Configuration configuration = new Configuration();
+        for (int index = 0; index < this.properties; index++) {
+            final Map<String, Object> feature = new HashMap<>();
+            feature.put("enabled", random.nextBoolean());
+            feature.put("rollout", random.nextDouble());
+            feature.put("id", random.nextLong());
+            feature.put("owners", Arrays.asList("team" + random.nextInt(50), "team" + random.nextInt(50)));
+            configuration.set("feature" + index, feature);
+        }
+        configuration.write(this.json);
+        configuration.writeSnapshot(this.snapshot);
+    }
+
+    @TearDown
+    public void tearDown() {
+        this.json.delete();
+        this.snapshot.delete();
+        this.directory.delete();
+    }
+
+    @Benchmark
+    public Object readJson() {
+        return Configuration.read(this.json).get("feature0");
+    }
+
+    @Benchmark
+    public Object readSnapshot() {
+        return Configuration.readSnapshot(this.snapshot).get("feature0");
+    }
+
+    @Benchmark
+    public Object map() throws IOException {
+        return Configuration.map(this.snapshot).get("feature0");
+    }
+
+    @Benchmark
+    public Object readTree() throws IOException {
+        try (final Reader input = new BufferedReader(new FileReader(this.json))) {
+            final JsonReader reader = new JsonReader(input);
+            reader.setLenient(true);
+            final Map<?, ?> map = (Map<?, ?>) copy(JsonParser.parseReader(reader));
+            return map.get("feature0");
+        }
+    }
+
+    private static Object copy(final JsonElement element) {
+        if (element.isJsonObject()) {
+            final Map<String, Object> map = new HashMap<>();
+            for (final Map.Entry<String, JsonElement> entry : element.getAsJsonObject().entrySet()) {
+                map.put(entry.getKey(), copy(entry.getValue()));
+            }
+            return map;
+        }
+        if (element.isJsonArray()) {
+            final List<Object> list = new ArrayList<>();
+            for (final JsonElement member : element.getAsJsonArray()) {
+                list.add(copy(member));
+            }
+            return list;
+        }
+        if (element.isJsonNull()) {
+            return null;
+        }
+        final JsonPrimitive primitive = element.getAsJsonPrimitive();
+        if (primitive.isBoolean()) {
+            return primitive.getAsBoolean();
+        }
+        if (primitive.isNumber()) {
+            final Number value = primitive.getAsNumber();
+            final int intValue = value.intValue();
+            final float floatValue = value.floatValue();
+            return ((float) intValue != floatValue) ? (Object) floatValue : (Object) intValue;
+        }
+        return primitive.getAsString();
+    }
+}
@@ -0,0 +1,71 @@
+package com.configurable;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ *  Reads and writes a Value and an IntValue in each {@link Value.Memory}, alone and with readers running against a
+ *  writer. Reads are volatile and sets are atomic swaps in every mode, so the modes are expected to differ in the cost
+ *  of {@link Value#put(Object)} only.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MemoryBenchmark {
+
+    @Param({ "RELEASE", "VOLATILE" })
+    public Value.Memory memory;
+
+    private Value<Integer> boxed;
+    private IntValue primitive;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        this.boxed = Value.to(0, this.memory);
+        this.primitive = IntValue.to(0, this.memory);
+    }
+
+    @Benchmark
+    public Integer get() {
+        return this.boxed.get();
+    }
+
+    @Benchmark
+    public Integer set() {
+        return this.boxed.set(this.next++);
+    }
+
+    @Benchmark
+    public void put() {
+        this.boxed.put(this.next++);
+    }
+
+    @Benchmark
+    public int getAsInt() {
+        return this.primitive.getAsInt();
+    }
+
+    @Benchmark
+    public int setAsInt() {
+        return this.primitive.setAsInt(this.next++);
+    }
+
+    @Benchmark
+    @Group("contended")
+    @GroupThreads(3)
+    public int read() {
+        return this.primitive.getAsInt();
+    }
+
+    @Benchmark
+    @Group("contended")
+    @GroupThreads(1)
+    public int write() {
+        return this.primitive.setAsInt(this.next++);
+    }
+}
@@ -0,0 +1,53 @@
+package com.configurable;
+
+import com.google.gson.internal.LazilyParsedNumber;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ *  Narrows parsed Json numbers to their narrowest exact type, and reads them back as the types callers ask for.
+ *  {@link #previous} narrows them the way parsing used to, to an int or else a float, which loses precision.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class NumberBenchmark {
+
+    @Param({ "8080", "9007199254740993", "0.25", "3.141592653589793", "12345678901234567890.5" })
+    public String literal;
+
+    private Number parsed;
+    private Object narrowed;
+
+    @Setup
+    public void setUp() {
+        this.parsed = new LazilyParsedNumber(this.literal);
+        this.narrowed = Json.asNumber(this.parsed);
+    }
+
+    @Benchmark
+    public Number asNumber() {
+        return Json.asNumber(this.parsed);
+    }
+
+    @Benchmark
+    public Number previous() {
+        final int intValue = this.parsed.intValue();
+        final float floatValue = this.parsed.floatValue();
+        return ((float) intValue != floatValue) ? (Number) floatValue : (Number) intValue;
+    }
+
+    @Benchmark
+    public Object asLong() {
+        return Json.asLong(this.narrowed);
+    }
+
+    @Benchmark
+    public Object asDouble() {
+        return Json.asDouble(this.narrowed);
+    }
+}
@@ -0,0 +1,73 @@
+package com.configurable;
+
+import com.google.gson.JsonObject;
+import com.google.gson.JsonPrimitive;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ *  Applies a small change to documents of growing size, as a merge patch and as a full reload of the changed file
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PatchBenchmark {
+
+    @Param({ "100", "10000" })
+    public int properties;
+
+    private File directory;
+    private File file;
+    private Configuration configuration;
+    private JsonObject[] patches;
+    private int next;
+
+    @Setup
+    public void setUp() throws IOException {
+        this.directory = Files.createTempDirectory("configurable").toFile();
+        this.file = new File(this.directory, "config.json");
+        this.configuration = new Configuration();
+        for (int index = 0; index < this.properties; index++) {
+            final Map<String, Object> service = new HashMap<>();
+            service.put("host", "host" + index);
+            service.put("port", 8000 + index);
+            this.configuration.set("service" + index, PersistentMap.of(service));
+        }
+        this.configuration.write(this.file);
+
+        // Alternate between two values, so every patch and every reload changes something
+        this.patches = new JsonObject[2];
+        for (int index = 0; index < this.patches.length; index++) {
+            final JsonObject service = new JsonObject();
+            service.add("port", new JsonPrimitive(index));
+            this.patches[index] = new JsonObject();
+            this.patches[index].add("service0", service);
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        this.file.delete();
+        this.directory.delete();
+    }
+
+    @Benchmark
+    public int applyPatch() {
+        return this.configuration.applyPatch(this.patches[this.next++ & 1]);
+    }
+
+    @Benchmark
+    public int reload() throws IOException {
+        this.configuration.set("service0", null);
+        return this.configuration.reload(this.file);
+    }
+}
@@ -0,0 +1,77 @@
+package com.configurable;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ *  Reads of {@link Configuration#get(String)} in each synchronization {@link Configuration.Mode}, with one write every
+ *  {@code writeEvery} operations. There is one benchmark per thread count, as JMH cannot take it as a parameter.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ReadBenchmark {
+
+    private static final int PROPERTIES = 256;
+
+    @Param({ "LOCKING", "SNAPSHOT", "CONCURRENT", "STAMPED", "DENSE" })
+    public Configuration.Mode mode;
+
+    @Param({ "100", "1000", "0" })
+    public int writeEvery;
+
+    private Configuration configuration;
+    private String[] names;
+
+    @Setup
+    public void setUp() {
+        this.configuration = new Configuration(this.mode);
+        this.names = new String[PROPERTIES];
+        for (int index = 0; index < PROPERTIES; index++) {
+            this.names[index] = "property" + index;
+            this.configuration.set(this.names[index], index);
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Cursor {
+        int operation;
+    }
+
+    @Benchmark
+    @Threads(1)
+    public Object threads1(final Cursor cursor) {
+        return this.readMostly(cursor);
+    }
+
+    @Benchmark
+    @Threads(8)
+    public Object threads8(final Cursor cursor) {
+        return this.readMostly(cursor);
+    }
+
+    @Benchmark
+    @Threads(32)
+    public Object threads32(final Cursor cursor) {
+        return this.readMostly(cursor);
+    }
+
+    @Benchmark
+    @Threads(128)
+    public Object threads128(final Cursor cursor) {
+        return this.readMostly(cursor);
+    }
+
+    private Object readMostly(final Cursor cursor) {
+        final int operation = cursor.operation++;
+        final String name = this.names[operation & (PROPERTIES - 1)];
+        if (this.writeEvery > 0 && operation % this.writeEvery == 0) {
+            return this.configuration.set(name, operation);
+        }
+        return this.configuration.get(name);
+    }
+}
@@ -0,0 +1,36 @@
+package com.configurable;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ *  Atomic updates of a single shared Value by many threads. Run with {@code -t} to vary the contention.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(4)
+public class UpdateBenchmark {
+
+    private final Value<Integer> boxed = Value.to(0);
+    private final IntValue primitive = IntValue.to(0);
+
+    @Benchmark
+    public Integer updateAndGet() {
+        return this.boxed.updateAndGet(value -> value + 1);
+    }
+
+    @Benchmark
+    public int updateAndGetAsInt() {
+        return this.primitive.updateAndGetAsInt(value -> value + 1);
+    }
+
+    @Benchmark
+    public Integer get() {
+        return this.boxed.get();
+    }
+}
@@ -0,0 +1,57 @@
+package com.configurable;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.concurrent.TimeUnit;
+
+/**
+ *  Writes a Configuration to disk as Json and as a snapshot with each {@link Configuration.Durability}, showing the
+ *  cost of the temporary file and of forcing it to storage
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class WriteBenchmark {
+
+    @Param({ "TRUNCATE", "ATOMIC", "SYNC" })
+    public Configuration.Durability durability;
+
+    @Param({ "10", "1000" })
+    public int properties;
+
+    private File directory;
+    private File file;
+    private Configuration configuration;
+
+    @Setup
+    public void setUp() throws IOException {
+        this.directory = Files.createTempDirectory("configurable").toFile();
+        this.file = new File(this.directory, "config.json");
+        this.configuration = new Configuration();
+        for (int index = 0; index < this.properties; index++) {
+            this.configuration.set("property" + index, "value" + index);
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        this.file.delete();
+        this.directory.delete();
+    }
+
+    @Benchmark
+    public Configuration write() {
+        return this.configuration.write(this.file, this.durability);
+    }
+
+    @Benchmark
+    public Configuration writeSnapshot() {
+        return this.configuration.writeSnapshot(this.file, this.durability);
+    }
+}
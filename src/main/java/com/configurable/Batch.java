@@ -0,0 +1,90 @@
+package com.configurable;
+
+import java.util.*;
+import java.util.concurrent.Executor;
+
+/**
+ *  Coalesces the notifications raised by {@link Value}s changed on one thread while a batch is running. Each changed
+ *  value is reported once, from its first old value to its last new value, and every {@link Executor} receives a
+ *  single task delivering all notifications for its listeners once the batch completes.
+ */
+final class Batch {
+    private static final ThreadLocal<Batch> CURRENT = new ThreadLocal<>();
+
+    private final Map<Value<?>, Change> changes = new LinkedHashMap<>();
+
+    private Batch() {
+
+    }
+
+    /**
+     *  Runs the specified action as a batch. When called from within a running batch the action joins it instead.
+     *
+     * @param runnable The action
+     */
+    static void run(final Runnable runnable) {
+        if (CURRENT.get() != null) {
+            runnable.run();
+            return;
+        }
+        final Batch batch = new Batch();
+        CURRENT.set(batch);
+        try {
+            runnable.run();
+        }
+        finally {
+            CURRENT.remove();
+            batch.dispatch();
+        }
+    }
+
+    /**
+     *  Records a change against the batch running on this thread
+     *
+     * @return false if no batch is running, in which case the caller notifies immediately
+     */
+    static <A> boolean add(final Value<A> value, final A oldValue, final A newValue) {
+        final Batch batch = CURRENT.get();
+        if (batch == null) {
+            return false;
+        }
+        final Change change = batch.changes.get(value);
+        if (change != null) {
+            change.newValue = newValue;
+        }
+        else {
+            batch.changes.put(value, new Change(oldValue, newValue));
+        }
+        return true;
+    }
+
+    private void dispatch() {
+        final Map<Executor, List<Runnable>> tasks = new LinkedHashMap<>();
+        for (final Map.Entry<Value<?>, Change> entry : this.changes.entrySet()) {
+            final Change change = entry.getValue();
+            if (Objects.equals(change.oldValue, change.newValue)) {
+                continue;
+            }
+            for (final Subscription<?> subscription : entry.getKey().getSubscriptions()) {
+                final Subscription<Object> subscription0 = (Subscription<Object>) subscription;
+                tasks.computeIfAbsent(subscription.getExecutor(), executor -> new ArrayList<>())
+                        .add(() -> subscription0.notify(change.oldValue, change.newValue))
+                ;
+            }
+        }
+        for (final Map.Entry<Executor, List<Runnable>> entry : tasks.entrySet()) {
+            final List<Runnable> runnables = entry.getValue();
+            entry.getKey().execute(() -> runnables.forEach(Runnable::run));
+        }
+    }
+
+    private static final class Change {
+        private final Object oldValue;
+        private Object newValue;
+
+        private Change(final Object oldValue, final Object newValue) {
+            this.oldValue = oldValue;
+            this.newValue = newValue;
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package com.configurable;
+
+import java.util.Objects;
+import java.util.ServiceConfigurationError;
+import java.util.ServiceLoader;
+import java.util.logging.Logger;
+
+/**
+ *  Exposes the {@link Property} fields of a Configuration subclass without reflection.
+ *
+ *  Subclasses are generated at compile time by {@link PropertyProcessor}, one per Configuration subclass, in the same
+ *  package and named after the class they bind with nested class separators replaced by underscores and a
+ *  {@code _Binder} suffix. They are registered in {@code META-INF/services/com.configurable.Binder} and loaded through
+ *  {@link ServiceLoader}, which native image builds resolve without reflection configuration. When a generated Binder
+ *  is present Configurable uses it in place of the reflective scan, and falls back to reflection otherwise. This class
+ *  is not intended to be extended by hand.
+ *
+ * @param <A> The bound Configuration type
+ */
+public abstract class Binder<A extends Configuration> {
+
+    private static final Logger LOG = Logger.getLogger("Configurable");
+
+    private final Class<A> type;
+    private final String[] names;
+    private final boolean[] hidden;
+
+    /**
+     *  @param type The bound Configuration type
+     *  @param names The property names, subclass fields first, in declaration order
+     *  @param hidden Whether the property at the same index is annotated with {@link Hidden}
+     */
+    protected Binder(final Class<A> type, final String[] names, final boolean[] hidden) {
+        this.type = Objects.requireNonNull(type);
+        this.names = Objects.requireNonNull(names);
+        this.hidden = Objects.requireNonNull(hidden);
+        if (names.length != hidden.length) {
+            throw new IllegalArgumentException("Expected " + names.length + " hidden flags, but was " + hidden.length);
+        }
+    }
+
+    /**
+     *  Returns the Value held by the property field at the specified index on the specified instance
+     *
+     * @param configuration The instance to read the field of
+     * @param index The index of the property
+     * @return The Value, or null if the field holds (null)
+     */
+    protected abstract Value<?> get(final A configuration, final int index);
+
+    final int size() {
+        return this.names.length;
+    }
+
+    final String getName(final int index) {
+        return this.names[index];
+    }
+
+    final boolean isHidden(final int index) {
+        return this.hidden[index];
+    }
+
+    final Value<Object> getValue(final Configuration configuration, final int index) {
+        return (Value<Object>) this.get(this.type.cast(configuration), index);
+    }
+
+    /**
+     *  Returns the name of the Binder generated for the specified class
+     *
+     * @param name The binary name of the bound class
+     * @return The binary name of its Binder
+     */
+    static String getBinderName(final String name) {
+        final int index = name.lastIndexOf('.');
+        return name.substring(0, index + 1) + name.substring(index + 1).replace('$', '_') + "_Binder";
+    }
+
+    /**
+     *  Loads the Binder generated for the specified class from the services registered with its class loader
+     *
+     * @param type The bound class
+     * @return The Binder, or null if none was generated
+     */
+    static Binder<?> find(final Class<?> type) {
+        try {
+            for (final Binder<?> binder : ServiceLoader.load(Binder.class, type.getClassLoader())) {
+                if (binder.type == type) {
+                    return binder;
+                }
+            }
+        }
+        catch (final ServiceConfigurationError error) {
+            LOG.warning("Unable to load the Binder of " + type.getName() + ": " + error.getMessage());
+        }
+        return null;
+    }
+}
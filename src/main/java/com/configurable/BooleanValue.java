@@ -0,0 +1,126 @@
+package com.configurable;
+
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.logging.Logger;
+
+/**
+ *  A {@link Value} holding a boolean without boxing. Reading through {@link #getAsBoolean()} and writing through
+ *  {@link #setAsBoolean(boolean)} never allocate.
+ *
+ *  Assigning (null), for instance from a Json null, resets this value to the boolean it was created with. Values loaded
+ *  by a Configuration are coerced to boolean, and values which cannot be are ignored.
+ */
+public class BooleanValue extends Value<Boolean> {
+    private static final Logger LOG = Logger.getLogger("Configurable");
+
+    private static final AtomicIntegerFieldUpdater<BooleanValue> VALUE = AtomicIntegerFieldUpdater.newUpdater(BooleanValue.class, "value");
+
+    private final boolean initialValue;
+    private volatile int value;
+
+    protected BooleanValue(final boolean value) {
+        this(value, Memory.RELEASE);
+    }
+
+    protected BooleanValue(final boolean value, final Memory memory) {
+        super(null, memory);
+        this.initialValue = value;
+        this.value = (value ? 1 : 0);
+    }
+
+    /**
+     *  Returns the backing value without boxing
+     *
+     * @return The backing value
+     */
+    public boolean getAsBoolean() {
+        return (this.value != 0);
+    }
+
+    /**
+     *  Sets the value for this Configuration property without boxing.
+     *  This change will propagate to the backing Configuration object.
+     *
+     * @param value The new value
+     * @return The old value
+     */
+    public boolean setAsBoolean(final boolean value) {
+        final boolean oldValue = (VALUE.getAndSet(this, (value ? 1 : 0)) != 0);
+        if (oldValue != value && this.isObserved()) {
+            this.changed(oldValue, value);
+        }
+        return oldValue;
+    }
+
+    /**
+     *  Atomically sets this value to the specified update if it currently holds the expected value, without boxing
+     *
+     * @param expect The expected value
+     * @param update The new value
+     * @return true if the value was set, false if it did not hold the expected value
+     */
+    public boolean compareAndSetAsBoolean(final boolean expect, final boolean update) {
+        if (!VALUE.compareAndSet(this, (expect ? 1 : 0), (update ? 1 : 0))) {
+            return false;
+        }
+        if (expect != update && this.isObserved()) {
+            this.changed(expect, update);
+        }
+        return true;
+    }
+
+    private void write(final boolean value) {
+        if (this.getMemory() == Memory.VOLATILE) {
+            this.value = (value ? 1 : 0);
+        }
+        else {
+            VALUE.lazySet(this, (value ? 1 : 0));
+        }
+    }
+
+    @Override
+    Boolean load() {
+        return this.getAsBoolean();
+    }
+
+    @Override
+    void store(final Boolean value) {
+        this.write((value != null) ? value : this.initialValue);
+    }
+
+    @Override
+    Boolean swap(final Boolean value) {
+        return (VALUE.getAndSet(this, (value ? 1 : 0)) != 0);
+    }
+
+    @Override
+    boolean cas(final Boolean expect, final Boolean update) {
+        return (expect != null) && VALUE.compareAndSet(this, (expect ? 1 : 0), (this.normalize(update) ? 1 : 0));
+    }
+
+    @Override
+    Boolean normalize(final Boolean value) {
+        return (value != null) ? value : this.initialValue;
+    }
+
+    @Override
+    Object assign(final Object value) {
+        if (value == null) {
+            return this.set(null);
+        }
+        final Boolean coerced = Json.asBoolean(value);
+        if (coerced == null) {
+            LOG.warning("Unable to assign " + value + " to " + this);
+            return this.getAsBoolean();
+        }
+        return this.setAsBoolean(coerced);
+    }
+
+    public static BooleanValue to(final boolean value) {
+        return new BooleanValue(value);
+    }
+
+    public static BooleanValue to(final boolean value, final Memory memory) {
+        return new BooleanValue(value, memory);
+    }
+}
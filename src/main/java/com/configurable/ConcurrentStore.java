@@ -0,0 +1,106 @@
+package com.configurable;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ *  A {@link Store} backed by a {@link ConcurrentHashMap}. Lookups never lock, and adding or removing one property only
+ *  contends with operations on properties hashing to the same bin. A coarse {@link ReentrantReadWriteLock} is shared
+ *  by those single property additions and removals and taken exclusively by bulk updates, so no property is added or
+ *  removed during a bulk update. Assigning the Value of an existing property takes no lock, as listeners may be notified
+ *  from the assigning thread and one changing the properties in bulk would otherwise deadlock, so such an assignment
+ *  may be interleaved with a bulk update.
+ */
+final class ConcurrentStore extends Store {
+
+    private final ReadWriteLock synchronization = new ReentrantReadWriteLock();
+    private final Map<String, Value<Object>> properties = new ConcurrentHashMap<>();
+
+    @Override
+    Value<Object> get(final String property) {
+        return this.properties.get(property);
+    }
+
+    @Override
+    Value<Object> computeIfAbsent(final String property) {
+        final Value<Object> reference = this.properties.get(property);
+        if (reference != null) {
+            return reference;
+        }
+        final Lock synchronization = this.synchronization.readLock();
+        synchronization.lock();
+        try {
+            final boolean[] created = new boolean[1];
+            final Value<Object> value = this.properties.computeIfAbsent(property, string -> {
+                created[0] = true;
+                return Value.to(null);
+            });
+            if (created[0]) {
+                this.modified();
+            }
+            return value;
+        }
+        finally {
+            synchronization.unlock();
+        }
+    }
+
+    @Override
+    Value<Object> remove(final String property) {
+        final Lock synchronization = this.synchronization.readLock();
+        synchronization.lock();
+        try {
+            final Value<Object> reference = this.properties.remove(property);
+            if (reference != null) {
+                this.modified();
+            }
+            return reference;
+        }
+        finally {
+            synchronization.unlock();
+        }
+    }
+
+    @Override
+    void update(final Consumer<Map<String, Value<Object>>> function) {
+        final Lock synchronization = this.synchronization.writeLock();
+        synchronization.lock();
+        try {
+            function.accept(this.properties);
+            this.modified();
+        }
+        finally {
+            synchronization.unlock();
+        }
+    }
+
+    @Override
+    <A> A read(final Function<Map<String, Value<Object>>, A> function) {
+        final Lock synchronization = this.synchronization.readLock();
+        synchronization.lock();
+        try {
+            return function.apply(this.properties);
+        }
+        finally {
+            synchronization.unlock();
+        }
+    }
+
+    @Override
+    Map<String, Value<Object>> snapshot() {
+        final Lock synchronization = this.synchronization.readLock();
+        synchronization.lock();
+        try {
+            return new HashMap<>(this.properties);
+        }
+        finally {
+            synchronization.unlock();
+        }
+    }
+}
@@ -1,99 +1,337 @@
 package com.configurable;
 
-import com.google.gson.*;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
 import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
 
 import java.io.*;
-import java.lang.annotation.Annotation;
 import java.lang.reflect.Field;
-import java.lang.reflect.Modifier;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CodingErrorAction;
+import java.nio.file.*;
+import java.nio.file.attribute.PosixFileAttributeView;
+import java.nio.file.attribute.PosixFileAttributes;
 import java.util.*;
-import java.util.concurrent.locks.Lock;
-import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
-import java.util.function.Function;
 import java.util.function.Supplier;
 import java.util.logging.Logger;
-import java.util.stream.Collectors;
 
 public class Configuration {
     private static final Logger LOG = Logger.getLogger("Configurable");
 
-    private final ReadWriteLock synchronization = new ReentrantReadWriteLock();
-
-    private Set<String> hidden = new HashSet<>();
-    private Map<String, Value<Object>> properties = null;
+    private final Store properties;
+    private final Set<String> hidden = new HashSet<>();
+    private boolean bound = false;
+    private volatile Executor executor = Runnable::run;
 
     protected Configuration() {
+        this(Mode.LOCKING);
+    }
+
+    /**
+     *  Creates a Configuration whose properties are synchronized according to the specified mode
+     *
+     * @param mode The synchronization mode
+     */
+    protected Configuration(final Mode mode) {
+        this.properties = Store.create(Objects.requireNonNull(mode));
+    }
 
+    private Configuration(final Store properties) {
+        this.properties = properties;
     }
 
     public final Object get(final String property) {
         Objects.requireNonNull(property);
-        final Lock synchronization = this.synchronization.readLock();
-
-        synchronization.lock();
-        final Value<Object> reference = this.properties.get(property);
-        synchronization.unlock();
-
-        return (reference != null) ? reference.get() : null;
+        return this.getProperties().load(property);
     }
 
     public final Object set(final String property, final Object value) {
         Objects.requireNonNull(property);
         if (value == null) {
-            final Lock synchronization = this.synchronization.writeLock();
+            final Value<Object> reference = this.getProperties().remove(property);
+            return (reference != null) ? reference.get() : null;
+        }
 
-            synchronization.lock();
-            final Object oldValue = this.properties.remove(property);
-            synchronization.unlock();
+        final Value<Object> reference = this.getProperties().computeIfAbsent(property);
+        return reference.assign(value);
+    }
 
-            return oldValue;
-        }
+    /**
+     *  Returns a typed handle on the specified property, which reads it without looking it up by name, see {@link Key}
+     *
+     * @param property The property
+     * @param type The type of the property value. Properties holding primitives use the corresponding wrapper type, and
+     *             a Long or Double Key also reads the narrower numbers parsing produces, such as an Integer.
+     * @return The handle
+     */
+    public static <A> Key<A> key(final String property, final Class<A> type) {
+        return new Key<>(property, type);
+    }
+
+    /**
+     *  Returns a compiled handle on the value at the specified dot separated path, such as "db.pool.size", see
+     *  {@link PropertyPath}. The first segment names the property, and segments of digits also select array elements.
+     *
+     * @param path The path
+     * @return The handle
+     * @throws IllegalArgumentException If the path has an empty segment
+     */
+    public static PropertyPath<Object> path(final String path) {
+        return PropertyPath.ofPath(path, Object.class);
+    }
 
-        final Lock synchronization = this.synchronization.writeLock();
-        synchronization.lock();
-        final Value<Object> reference = this.properties.computeIfAbsent(property, string -> Value.to(null));
-        synchronization.unlock();
+    /**
+     *  Returns a compiled handle on the value at the specified dot separated path, such as "db.pool.size", see
+     *  {@link PropertyPath}. The first segment names the property, and segments of digits also select array elements.
+     *
+     * @param path The path
+     * @param type The type of the value
+     * @return The handle
+     * @throws IllegalArgumentException If the path has an empty segment
+     */
+    public static <A> PropertyPath<A> path(final String path, final Class<A> type) {
+        return PropertyPath.ofPath(path, type);
+    }
 
-        return reference.set(value);
+    /**
+     *  Returns a compiled handle on the value at the specified Json pointer (RFC 6901), such as "/db/pool/size", see
+     *  {@link PropertyPath}. The first reference token names the property.
+     *
+     * @param pointer The Json pointer
+     * @return The handle
+     * @throws IllegalArgumentException If the pointer does not start with '/'
+     */
+    public static PropertyPath<Object> pointer(final String pointer) {
+        return PropertyPath.ofPointer(pointer, Object.class);
     }
 
-    final Map<String, Value<Object>> getProperties() {
-        if (this.properties == null) {
-            final List<Field> fields = getDeclaredFields(this.getClass()).stream()
-                    .filter(this::isPropertyField)
-                    .collect(Collectors.toList())
-            ;
-            final Map<String, Value<Object>> properties = new HashMap<>();
-            for (final Field field : fields) {
-                final Value<Object> value = this.getValue(field);
-                if (value != null) {
-                    getAnnotations(field).stream()
-                            .filter(annotation -> annotation.annotationType() == Property.class)
-                            .map(Property.class::cast)
-                            .map(Property::value)
-                            .filter(string -> !properties.containsKey(string))
-                            .forEach(string -> properties.put(string, value))
-                    ;
+    /**
+     *  Returns a compiled handle on the value at the specified Json pointer (RFC 6901), such as "/db/pool/size", see
+     *  {@link PropertyPath}. The first reference token names the property.
+     *
+     * @param pointer The Json pointer
+     * @param type The type of the value
+     * @return The handle
+     * @throws IllegalArgumentException If the pointer does not start with '/'
+     */
+    public static <A> PropertyPath<A> pointer(final String pointer, final Class<A> type) {
+        return PropertyPath.ofPointer(pointer, type);
+    }
+
+    /**
+     *  Returns the values of the specified properties as of a single point in time. No bulk change, such as
+     *  {@link #setAll(Map)} or a reload, is observed partially applied, unlike with successive calls to
+     *  {@link #get(String)}.
+     *
+     * @param properties The properties to read
+     * @return The values of those properties which exist, in the order requested
+     */
+    public final Map<String, Object> getAll(final Collection<String> properties) {
+        Objects.requireNonNull(properties);
+        return this.getProperties().read(map -> {
+            final Map<String, Object> values = new LinkedHashMap<>();
+            for (final String property : properties) {
+                final Value<Object> reference = map.get(Objects.requireNonNull(property));
+                if (reference != null) {
+                    values.put(property, reference.get());
                 }
             }
-            this.properties = properties;
+            return values;
+        });
+    }
+
+    /**
+     *  Sets every property in the specified map as a single change, taking the lock of this Configuration once.
+     *  Properties mapped to (null) are removed, as with {@link #set(String, Object)}. Listeners are notified once
+     *  every property has been set.
+     *
+     *  The change is isolated from other bulk changes and from {@link #getAll(Collection)}, but not from lookups of a
+     *  single property: a {@link Key}, a {@link Property} field, or {@link #get(String)} in any mode but
+     *  {@link Mode#LOCKING}, read concurrently may already see some of the new values and not yet others.
+     *
+     * @param values The properties to set
+     */
+    public final void setAll(final Map<String, ?> values) {
+        Objects.requireNonNull(values);
+        Batch.run(() -> this.getProperties().update(properties -> {
+            for (final Map.Entry<String, ?> entry : values.entrySet()) {
+                set(properties, Objects.requireNonNull(entry.getKey()), entry.getValue());
+            }
+        }));
+    }
+
+    /**
+     *  Runs the specified function with exclusive access to this Configuration. Changes made through the {@link Editor}
+     *  are staged and applied together once the function returns, as a single change isolated as with
+     *  {@link #setAll(Map)}. If the function throws, nothing is applied. The function should be short, as every other
+     *  change waits for it.
+     *
+     *  The function holds the exclusive lock of this Configuration for its whole run. It may read this Configuration
+     *  from the calling thread in every {@link Mode}, but must not wait for another thread which reads or changes it,
+     *  as that thread waits for the function in turn.
+     *
+     * @param function The function making the changes
+     */
+    public final void transaction(final Consumer<Editor> function) {
+        Objects.requireNonNull(function);
+        Batch.run(() -> this.getProperties().update(properties -> {
+            final Map<String, Object> changes = new LinkedHashMap<>();
+            function.accept(new Editor() {
+                @Override
+                public Object get(final String property) {
+                    Objects.requireNonNull(property);
+                    if (changes.containsKey(property)) {
+                        return changes.get(property);
+                    }
+                    final Value<Object> reference = properties.get(property);
+                    return (reference != null) ? reference.get() : null;
+                }
+
+                @Override
+                public Editor set(final String property, final Object value) {
+                    changes.put(Objects.requireNonNull(property), value);
+                    return this;
+                }
+            });
+            for (final Map.Entry<String, Object> entry : changes.entrySet()) {
+                set(properties, entry.getKey(), entry.getValue());
+            }
+        }));
+    }
+
+    /**
+     *  Computes the Json merge patch (RFC 7386) which turns the properties of this Configuration into those of the
+     *  specified one, see {@link #applyPatch(JsonObject)}. Each Configuration is read at a single point in time.
+     *  Properties whose values are objects on both sides are diffed member by member, all others are replaced whole.
+     *
+     * @param other The Configuration to compare with
+     * @return The patch, empty if both hold the same properties
+     */
+    public final JsonObject diff(final Configuration other) {
+        Objects.requireNonNull(other);
+        return MergePatch.diff(this.getValues(), other.getValues());
+    }
+
+    /**
+     *  Applies the specified Json merge patch (RFC 7386) as a single change, taking the lock of this Configuration once.
+     *  A member mapped to (null) removes the property, an object is merged into the current value of the property, and
+     *  any other value replaces it. Only the properties whose values actually change are set, and nested objects share
+     *  every part the patch leaves unchanged. Listeners are notified once the whole patch is applied. The change is
+     *  isolated as with {@link #setAll(Map)}.
+     *
+     * @param patch The patch
+     * @return The number of properties changed or removed
+     */
+    public final int applyPatch(final JsonObject patch) {
+        Objects.requireNonNull(patch);
+        final int[] changed = new int[1];
+        Batch.run(() -> this.getProperties().update(properties -> {
+            for (final Map.Entry<String, JsonElement> entry : patch.entrySet()) {
+                final String name = entry.getKey();
+                final JsonElement element = entry.getValue();
+                if (element.isJsonNull()) {
+                    if (properties.remove(name) != null) {
+                        changed[0]++;
+                    }
+                    continue;
+                }
+                final Value<Object> reference = properties.get(name);
+                final Object before = (reference != null) ? reference.get() : null;
+                final Object after = element.isJsonObject()
+                        ? MergePatch.apply(before, element.getAsJsonObject())
+                        : MergePatch.fromElement(element)
+                ;
+                if (reference == null || (before != after && !Objects.equals(before, after))) {
+                    properties.computeIfAbsent(name, string -> Value.to(null)).assign(after);
+                    changed[0]++;
+                }
+            }
+        }));
+        return changed[0];
+    }
+
+    private Map<String, Object> getValues() {
+        return this.getProperties().read(map -> {
+            final Map<String, Object> values = new HashMap<>();
+            for (final Map.Entry<String, Value<Object>> entry : map.entrySet()) {
+                values.put(entry.getKey(), entry.getValue().get());
+            }
+            return values;
+        });
+    }
+
+    private static void set(final Map<String, Value<Object>> properties, final String property, final Object value) {
+        if (value == null) {
+            properties.remove(property);
+        }
+        else {
+            properties.computeIfAbsent(property, string -> Value.to(null)).assign(value);
+        }
+    }
+
+    /**
+     *  Registers a listener notified whenever the specified property changes. The listener follows the Value currently
+     *  mapped to the property, creating an empty one if there is none, and is no longer notified once the property is
+     *  removed.
+     *
+     * @param property The property to observe
+     * @param listener The listener
+     * @return The subscription, which may be cancelled to stop notifications
+     */
+    public final Subscription<Object> subscribe(final String property, final Listener<Object> listener) {
+        Objects.requireNonNull(property);
+        return this.getProperties().pin(property).subscribe(listener, this.executor);
+    }
+
+    /**
+     *  Sets the executor listeners registered through {@link #subscribe(String, Listener)} are notified on. By default
+     *  listeners run on the thread making the change.
+     *
+     * @param executor The executor
+     */
+    public final void setExecutor(final Executor executor) {
+        this.executor = Objects.requireNonNull(executor);
+    }
+
+    final Store getProperties() {
+        if (!this.bound) {
+            this.properties.update(this::bind);
         }
         return this.properties;
     }
 
-    final void setHidden(final String name) {
-        this.hidden.add(name);
+    private void bind(final Map<String, Value<Object>> properties) {
+        if (this.bound) {
+            return;
+        }
+        final Set<String> names = new HashSet<>();
+        for (final Metadata.Entry entry : Metadata.of(this.getClass()).getEntries()) {
+            final Value<Object> value = entry.getValue(this);
+            if (value != null && names.add(entry.getName())) {
+                properties.put(entry.getName(), value);
+            }
+        }
+        this.bound = true;
     }
 
-    final ReadWriteLock getLock() {
-        return this.synchronization;
+    final void setHidden(final String name) {
+        this.hidden.add(name);
     }
 
     @Override
     public String toString() {
-        return this.getClass().getName() + ((this.properties != null) ? this.properties.toString() : "{}");
+        return this.getClass().getName() + this.properties.snapshot().toString();
     }
 
     /**
@@ -106,6 +344,17 @@ public class Configuration {
         return read(new Configuration(), file);
     }
 
+    /**
+     * Parses the specified Json File into a Configuration instance using the specified synchronization mode
+     *
+     * @param file A Json file to be parsed
+     * @param mode The synchronization mode of the returned Configuration
+     * @return A Configuration instance from the specified File
+     */
+    public static Configuration read(final File file, final Mode mode) {
+        return read(new Configuration(mode), file);
+    }
+
     /**
      * Obtains a Configuration instance from the specified supplier. Then loads and parses the specified file
      * into the supplied Configuration instance, populating any available fields annotated with {@link Property} with
@@ -125,329 +374,460 @@ public class Configuration {
     private static <A extends Configuration> A read(final A configuration, final File file) {
         Objects.requireNonNull(configuration);
 
-        JsonObject object;
+        Map<String, Object> map;
         try {
-            object = Configuration.parse(file);
+            map = Configuration.parse(file);
         }
         catch (final FileNotFoundException exception) {
             LOG.info("Unable to parse " + file.getPath() + ": file does not exist");
-            object = new JsonObject();
+            map = Collections.emptyMap();
         }
         catch (final IOException exception) {
             LOG.severe("Unable to parse " + file.getPath() + ": " + exception.getMessage());
-            object = new JsonObject();
+            map = Collections.emptyMap();
         }
 
-        return Configuration.read(configuration, object);
+        return Configuration.read(configuration, map);
     }
 
-    private static JsonObject parse(final File file) throws IOException {
+    /**
+     *  Streams the specified file through a {@link JsonReader}, decoding each top-level property straight into its
+     *  value. No intermediate {@link JsonObject} tree is built, and nested objects and arrays are only decoded when
+     *  first accessed.
+     *
+     * @param file The file to parse
+     * @return The top-level properties of the file
+     * @throws IOException If the file cannot be read or is malformed
+     */
+    static Map<String, Object> parse(final File file) throws IOException {
         if (file == null) {
-            return new JsonObject();
+            return Collections.emptyMap();
         }
         try (final BufferedReader input = new BufferedReader(new FileReader(file))) {
             final JsonReader jsonreader = new JsonReader(input);
             jsonreader.setLenient(true);
-            final JsonElement element = new JsonParser().parse(jsonreader);
-            if (!element.isJsonObject()) {
-                throw new JsonParseException("Expected JsonObject for top-level element, but was " + element.getClass());
+            final JsonToken token = jsonreader.peek();
+            if (token != JsonToken.BEGIN_OBJECT) {
+                throw new JsonParseException("Expected JsonObject for top-level element, but was " + token);
             }
-            return element.getAsJsonObject();
+            return Json.readObject(jsonreader);
         }
     }
 
-    private static <A extends Configuration> A read(final A configuration, final JsonObject object) {
-        Objects.requireNonNull(object);
+    /**
+     * Loads the specified binary snapshot, written by {@link #writeSnapshot(File)}, into a Configuration instance
+     *
+     * @param file A snapshot file to be loaded
+     * @return A Configuration instance from the specified File
+     */
+    public static Configuration readSnapshot(final File file) {
+        return readSnapshot(new Configuration(), file);
+    }
 
-        final List<Field> fields = getDeclaredFields(configuration.getClass()).stream()
-                .filter(field -> configuration.isPropertyField(field))
-                .collect(Collectors.toList())
-        ;
-        for (final Field field : fields) {
-            final boolean isHidden = (configuration.getStatus(field) == Status.HIDDEN);
-            final String name = getAnnotations(field).stream()
-                    .filter(annotation -> annotation instanceof Property)
-                    .map(annotation -> (Property) annotation)
-                    .map(Property::value)
-                    .findFirst()
-                    .orElse(null)
-            ;
-            if (name != null && isHidden && !object.has(name)) {
+    /**
+     * Loads the specified binary snapshot, written by {@link #writeSnapshot(File)}, into a Configuration instance using
+     * the specified synchronization mode
+     *
+     * @param file A snapshot file to be loaded
+     * @param mode The synchronization mode of the returned Configuration
+     * @return A Configuration instance from the specified File
+     */
+    public static Configuration readSnapshot(final File file, final Mode mode) {
+        return readSnapshot(new Configuration(mode), file);
+    }
+
+    /**
+     * Obtains a Configuration instance from the specified supplier, then loads the specified binary snapshot into it as
+     * {@link #read(Supplier, File)} does for Json files.
+     *
+     * @param supplier Function that supplies an Configuration object to populate
+     * @param file The snapshot file to load
+     * @return A Configuration objects of the supplied type populated from the specified file
+     */
+    protected static <A extends Configuration> A readSnapshot(final Supplier<A> supplier, final File file) {
+        Objects.requireNonNull(supplier);
+        return Configuration.readSnapshot(supplier.get(), file);
+    }
+    private static <A extends Configuration> A readSnapshot(final A configuration, final File file) {
+        Objects.requireNonNull(configuration);
+
+        Map<String, Object> map;
+        try {
+            map = (file != null) ? Snapshot.read(file.toPath()) : Collections.emptyMap();
+        }
+        catch (final NoSuchFileException exception) {
+            LOG.info("Unable to load " + file.getPath() + ": file does not exist");
+            map = Collections.emptyMap();
+        }
+        catch (final IOException exception) {
+            LOG.severe("Unable to load " + file.getPath() + ": " + exception.getMessage());
+            map = Collections.emptyMap();
+        }
+
+        return Configuration.read(configuration, map);
+    }
+
+    /**
+     * Creates a Configuration merging the specified sources, see {@link Layers}. Later sources override earlier ones.
+     *
+     * @param sources The sources, from the lowest to the highest precedence
+     * @return The layers, holding the merged Configuration
+     */
+    public static Layers<Configuration> layered(final Source... sources) {
+        return new Layers<>(new Configuration(), Arrays.asList(sources));
+    }
+
+    /**
+     * Obtains a Configuration instance from the specified supplier, then merges the specified sources into it as
+     * {@link #layered(Source...)}, populating any available fields annotated with {@link Property}
+     *
+     * @param supplier Function that supplies an Configuration object to populate
+     * @param sources The sources, from the lowest to the highest precedence
+     * @return The layers, holding the merged Configuration
+     */
+    protected static <A extends Configuration> Layers<A> layered(final Supplier<A> supplier, final Source... sources) {
+        Objects.requireNonNull(supplier);
+        return new Layers<>(supplier.get(), Arrays.asList(sources));
+    }
+
+    /**
+     * Maps the specified binary snapshot, written by {@link #writeSnapshot(File)}, into a read-only Configuration. Values
+     * are decoded from the mapped file on each access rather than loaded up front, and the mapped pages are shared with
+     * every other process mapping the same file. Setting a property throws {@link UnsupportedOperationException}.
+     *
+     * The file is updated by replacing it atomically, for example with {@link #writeSnapshot(File)}. The new contents
+     * are picked up by {@link #watch(File)}, or by {@link #reload(File)}.
+     *
+     * @param file A snapshot file to be mapped
+     * @return A read-only Configuration over the specified File
+     * @throws IOException If the file cannot be mapped or is not a snapshot
+     */
+    public static Configuration map(final File file) throws IOException {
+        Objects.requireNonNull(file);
+        return new Configuration(new MappedStore(file.toPath()));
+    }
+
+    static <A extends Configuration> A read(final A configuration, final Map<String, Object> map) {
+        Objects.requireNonNull(map);
+
+        for (final Metadata.Entry entry : Metadata.of(configuration.getClass()).getEntries()) {
+            final String name = entry.getName();
+            if (entry.isHidden() && !map.containsKey(name) && entry.getValue(configuration) != null) {
                 configuration.setHidden(name);
             }
         }
 
-        final Map<String, Object> map = asMap(object);
+        configuration.apply(map);
 
-        configuration.getLock().writeLock().lock();;
-        final Map<String, Value<Object>> properties = configuration.getProperties();
-        for (final Map.Entry<String, Object> entry : map.entrySet()) {
-            final String name = entry.getKey();
-            final Object value = entry.getValue();
-            properties.computeIfAbsent(name, string -> Value.to(null)).set(value);
+        return configuration;
+    }
+
+    /**
+     *  Reloads this Configuration from the specified file, which is parsed as Json unless this Configuration was
+     *  created by {@link #map(File)}, in which case its file is mapped again
+     *
+     * @param file The file to reload from
+     * @return The number of properties changed. For a mapped Configuration only properties with listeners are counted.
+     * @throws IOException If the file cannot be read, in which case nothing changes
+     */
+    public final int reload(final File file) throws IOException {
+        if (this.properties instanceof MappedStore) {
+            return ((MappedStore) this.properties).remap();
         }
-        configuration.getLock().writeLock().unlock();;
+        return this.apply(Configuration.parse(file));
+    }
 
-        return configuration;
+    /**
+     *  Sets every property in the specified map whose value differs from the current one, under a single update of the
+     *  backing store and as a single notification batch. Properties absent from the map are left unchanged.
+     *
+     * @param map The parsed properties
+     * @return The number of properties changed
+     */
+    final int apply(final Map<String, Object> map) {
+        return this.apply(map, Collections.emptySet());
     }
 
     /**
-     *  Writes this Configuration object to the specified file in Json format.
+     *  Sets every property in the specified map whose value differs from the current one, and removes the specified
+     *  properties, under a single update of the backing store and as a single notification batch
+     *
+     * @param map The properties to set
+     * @param removed The properties to remove
+     * @return The number of properties changed or removed
+     */
+    final int apply(final Map<String, Object> map, final Collection<String> removed) {
+        final int[] changed = new int[1];
+        Batch.run(() -> this.getProperties().update(properties -> {
+            for (final String name : removed) {
+                if (properties.remove(name) != null) {
+                    changed[0]++;
+                }
+            }
+            for (final Map.Entry<String, Object> entry : map.entrySet()) {
+                final String name = entry.getKey();
+                final Object value = entry.getValue();
+                final Value<Object> reference = properties.computeIfAbsent(name, string -> Value.to(null));
+                if (!Objects.equals(reference.get(), value)) {
+                    reference.assign(value);
+                    changed[0]++;
+                }
+            }
+        }));
+        return changed[0];
+    }
+
+    /**
+     *  Writes this Configuration object to the specified file in Json format. The file is replaced atomically, see
+     *  {@link Durability#ATOMIC}.
      *
      * @param file The file to write to
      * @return this
      */
     public final <A extends Configuration>  A write(final File file) {
+        return this.write(file, Durability.ATOMIC);
+    }
+
+    /**
+     *  Writes this Configuration object to the specified file in Json format.
+     *
+     * @param file The file to write to
+     * @param durability How the file is replaced
+     * @return this
+     */
+    public final <A extends Configuration>  A write(final File file, final Durability durability) {
+        Objects.requireNonNull(durability);
         if (file == null) {
             return (A) this;
         }
 
-        this.synchronization.readLock().lock();
-        final JsonObject object = asJsonObject(map(this.properties, Value::get));
-        this.synchronization.readLock().unlock();
+        final Map<String, Value<Object>> properties = this.properties.snapshot();
+        replace(file, durability, channel -> {
+            final CharsetEncoder encoder = Charset.defaultCharset().newEncoder()
+                    .onMalformedInput(CodingErrorAction.REPLACE)
+                    .onUnmappableCharacter(CodingErrorAction.REPLACE)
+            ;
+            final JsonWriter writer = Json.newWriter(new BufferedWriter(Channels.newWriter(channel, encoder, -1)));
+            this.write(writer, properties);
+            writer.flush();
+        });
+        return (A) this;
+    }
 
-        final List<String> toRemove = new ArrayList<>();
-        for (final Map.Entry<String, JsonElement> entry : object.entrySet()) {
-            final String name = entry.getKey();
-            if (this.hidden.contains(name)) {
-                toRemove.add(name);
-            }
-        }
-        for (final String name : toRemove) {
-            object.remove(name);
-        }
+    /**
+     *  Writes this Configuration object to the specified file as a binary snapshot, which {@link #readSnapshot(File)}
+     *  loads much faster than Json. The file is replaced atomically, see {@link Durability#ATOMIC}.
+     *
+     * @param file The file to write to
+     * @return this
+     */
+    public final <A extends Configuration> A writeSnapshot(final File file) {
+        return this.writeSnapshot(file, Durability.ATOMIC);
+    }
 
-        final Gson gson = new GsonBuilder()
-                .serializeNulls()
-                .setLenient()
-                .setPrettyPrinting()
-                .create()
-        ;
-        final String string = gson.toJson(object);
-        try (final BufferedWriter bufferedWriter = new BufferedWriter(new FileWriter(file))) {
-            bufferedWriter.write(string);
-            bufferedWriter.flush();
+    /**
+     *  Writes this Configuration object to the specified file as a binary snapshot, which {@link #readSnapshot(File)}
+     *  loads much faster than Json. Hidden properties are left out, as in Json.
+     *
+     * @param file The file to write to
+     * @param durability How the file is replaced
+     * @return this
+     */
+    public final <A extends Configuration> A writeSnapshot(final File file, final Durability durability) {
+        Objects.requireNonNull(durability);
+        if (file == null) {
+            return (A) this;
         }
-        catch (final IOException exception) {
-            LOG.severe("Unable to write configuration file to " + file.getPath() + ": " + exception.getMessage());
-            if (!file.delete()) LOG.severe("Unable to delete configuration file at " + file.getPath());
+
+        final Map<String, Object> properties = new LinkedHashMap<>();
+        for (final Map.Entry<String, Value<Object>> entry : this.properties.snapshot().entrySet()) {
+            if (!this.hidden.contains(entry.getKey())) {
+                properties.put(entry.getKey(), entry.getValue().get());
+            }
         }
+        replace(file, durability, channel -> Snapshot.write(channel, properties));
         return (A) this;
     }
 
-    private static Map<String, Object> asMap(final JsonObject element) {
-        if (element == null) {
-            return Collections.emptyMap();
-        }
-        if (element.size() == 0) {
-            return Collections.emptyMap();
-        }
-        final Map<String, Object> map = new HashMap<>();
-        for (Map.Entry<String, JsonElement> entry : element.entrySet()) {
-            final String key = entry.getKey();
-            final JsonElement value = entry.getValue();
-            if (value.isJsonNull()) {
-                map.put(key, null);
-            }
-            else if (value.isJsonPrimitive()) {
-                final JsonPrimitive primitive = value.getAsJsonPrimitive();
-                map.put(key, asObject(primitive));
-            }
-            else if (value.isJsonArray()) {
-                final JsonArray array = (JsonArray) value;
-                map.put(key, asList(array));
+    /**
+     *  Watches the specified file and reloads this Configuration from it whenever it changes, see {@link Watcher}.
+     *  Bursts of changes are debounced for 100 milliseconds.
+     *
+     * @param file The file to watch
+     * @return The running Watcher, to be closed when no longer needed
+     * @throws IOException If the directory of the file cannot be watched
+     */
+    public final Watcher watch(final File file) throws IOException {
+        return this.watch(file, 100, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     *  Watches the specified file and reloads this Configuration from it whenever it changes, see {@link Watcher}.
+     *
+     * @param file The file to watch
+     * @param debounce How long the file must remain unchanged before it is reloaded
+     * @param unit The unit of the debounce period
+     * @return The running Watcher, to be closed when no longer needed
+     * @throws IOException If the directory of the file cannot be watched
+     */
+    public final Watcher watch(final File file, final long debounce, final TimeUnit unit) throws IOException {
+        Objects.requireNonNull(file);
+        Objects.requireNonNull(unit);
+        this.getProperties();
+        return new Watcher(this, file, unit.toMillis(debounce)).start();
+    }
+
+    /**
+     *  Replaces the contents of the specified file with the output of the specified function. Failures are logged, and
+     *  leave no partial file behind.
+     *
+     * @param file The file to write to
+     * @param durability How the file is replaced
+     * @param output Writes the new contents
+     */
+    private static void replace(final File file, final Durability durability, final Output output) {
+        if (durability == Durability.TRUNCATE) {
+            try (final FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+                output.write(channel);
             }
-            else if (value.isJsonObject()) {
-                final JsonObject object = (JsonObject) value;
-                map.put(key, asMap(object));
+            catch (final IOException exception) {
+                LOG.severe("Unable to write configuration file to " + file.getPath() + ": " + exception.getMessage());
+                if (!file.delete()) LOG.severe("Unable to delete configuration file at " + file.getPath());
             }
+            return;
         }
-        return map;
-    }
 
-    private static List<Object> asList(final JsonArray arrayElement) {
-        if (arrayElement == null) {
-            return Collections.emptyList();
+        final Path target;
+        try {
+            target = resolve(file.toPath());
         }
-        if (arrayElement.size() == 0) {
-            return Collections.emptyList();
+        catch (final IOException exception) {
+            LOG.severe("Unable to write configuration file to " + file.getPath() + ": " + exception.getMessage());
+            return;
         }
-        final List<Object> list = new ArrayList<>();
-        for (JsonElement element : arrayElement) {
-            if (element.isJsonNull()) {
-                list.add(null);
+        final Path temporary = target.resolveSibling("." + target.getFileName() + "." + Long.toHexString(ThreadLocalRandom.current().nextLong()) + ".tmp");
+        try {
+            try (final FileChannel channel = FileChannel.open(temporary, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE)) {
+                copyAttributes(target, temporary);
+                output.write(channel);
+                if (durability == Durability.SYNC) {
+                    channel.force(true);
+                }
             }
-            else if (element.isJsonPrimitive()) {
-                final JsonPrimitive primitive = element.getAsJsonPrimitive();
-                list.add(asObject(primitive));
+            try {
+                Files.move(temporary, target, StandardCopyOption.ATOMIC_MOVE);
             }
-            else if (element.isJsonArray()) {
-                final JsonArray array1 = (JsonArray) element;
-                list.add(asList(array1));
+            catch (final AtomicMoveNotSupportedException exception) {
+                Files.move(temporary, target, StandardCopyOption.REPLACE_EXISTING);
             }
-            else if (element.isJsonObject()) {
-                final JsonObject object = (JsonObject) element;
-                list.add(asMap(object));
+            if (durability == Durability.SYNC) {
+                force(target.getParent());
             }
         }
-        return list;
-    }
-
-    private static Object asObject(final JsonPrimitive primitive) {
-        if (primitive.isBoolean()) {
-            return primitive.getAsBoolean();
+        catch (final IOException exception) {
+            LOG.severe("Unable to write configuration file to " + file.getPath() + ": " + exception.getMessage());
         }
-        if (primitive.isNumber()) {
-            final Number value = primitive.getAsNumber();
-            final int intValue = value.intValue();
-            final float floatValue0 = (float) intValue;
-            final float floatValue1 = value.floatValue();
-            if (floatValue0 != floatValue1) {
-                return floatValue1;
+        finally {
+            // Only left behind if the write failed, including with an unchecked exception
+            try {
+                Files.deleteIfExists(temporary);
+            }
+            catch (final IOException exception) {
+                LOG.severe("Unable to delete temporary configuration file at " + temporary + ": " + exception.getMessage());
             }
-            return intValue;
-        }
-        if (primitive.isString()) {
-            return primitive.getAsString();
         }
-        return primitive.getAsString();
     }
 
-    private static JsonObject asJsonObject(final Map<String, Object> map) {
-        if (map == null) {
-            return new JsonObject();
-        }
-        final JsonObject object = new JsonObject();
-        for (final Map.Entry<String, Object> entry : map.entrySet()) {
-            final String key = entry.getKey();
-            final Object value = entry.getValue();
-
-            if (value == null) {
-                object.add(key, JsonNull.INSTANCE);
-            }
-            else if (value instanceof Boolean) {
-                object.add(key, new JsonPrimitive((Boolean) value));
-            }
-            else if (value instanceof Number) {
-                object.add(key, new JsonPrimitive((Number) value));
-            }
-            else if (value instanceof String) {
-                object.add(key, new JsonPrimitive((String) value));
-            }
-            else if (value instanceof Map) {
-                object.add(key, asJsonObject((Map<String, Object>) value));
-            }
-            else if (value instanceof List) {
-                object.add(key, asJsonArray((List<Object>) value));
-            }
-            else {
-                object.add(key, new JsonPrimitive(value.toString()));
+    /**
+     *  Follows the specified path through any symbolic links, so the file they point to is replaced rather than the
+     *  links themselves
+     *
+     * @param path The path to resolve
+     * @return The absolute path of the file, which may not exist yet
+     * @throws IOException If a link cannot be read, or the links form a loop
+     */
+    private static Path resolve(final Path path) throws IOException {
+        Path target = path.toAbsolutePath();
+        for (int links = 0; Files.isSymbolicLink(target); links++) {
+            if (links == 40) {
+                throw new FileSystemException(path.toString(), null, "Too many levels of symbolic links");
             }
+            target = target.resolveSibling(Files.readSymbolicLink(target));
         }
-        return object;
+        return target;
     }
 
-    private static JsonArray asJsonArray(final List<Object> list) {
-        if (list == null) {
-            return new JsonArray();
-        }
-        final JsonArray array = new JsonArray();
-        for (final Object value : list) {
-            if (value == null) {
-                array.add(JsonNull.INSTANCE);
-            }
-            else if (value instanceof Boolean) {
-                array.add(new JsonPrimitive((Boolean) value));
-            }
-            else if (value instanceof Number) {
-                array.add(new JsonPrimitive((Number) value));
-            }
-            else if (value instanceof String) {
-                array.add(new JsonPrimitive((String) value));
-            }
-            else if (value instanceof Map) {
-                array.add(asJsonObject((Map<String, Object>) value));
-            }
-            else if (value instanceof List) {
-                array.add(asJsonArray((List<Object>) value));
+    /**
+     *  Gives the specified replacement the POSIX permissions, owner and group of the file it replaces, if that exists.
+     *  The owner and group are left as they are when they cannot be changed.
+     *
+     * @param original The file being replaced
+     * @param replacement The file replacing it
+     * @throws IOException If the permissions cannot be read or set
+     */
+    private static void copyAttributes(final Path original, final Path replacement) throws IOException {
+        final PosixFileAttributeView view = Files.getFileAttributeView(original, PosixFileAttributeView.class);
+        if (view == null || !Files.exists(original)) {
+            return;
+        }
+        final PosixFileAttributes attributes = view.readAttributes();
+        final PosixFileAttributeView replacementView = Files.getFileAttributeView(replacement, PosixFileAttributeView.class);
+        replacementView.setPermissions(attributes.permissions());
+        try {
+            final PosixFileAttributes replacementAttributes = replacementView.readAttributes();
+            if (!replacementAttributes.owner().equals(attributes.owner())) {
+                replacementView.setOwner(attributes.owner());
             }
-            else {
-                array.add(new JsonPrimitive(value.toString()));
+            if (!replacementAttributes.group().equals(attributes.group())) {
+                replacementView.setGroup(attributes.group());
             }
         }
-        return array;
-    }
-
-    private static <A, B, C> Map<A, C> map(final Map<A, B> source, final Function<B, C> function) {
-        Objects.requireNonNull(source);
-        Objects.requireNonNull(function);
-        final Map<A, C> map = new HashMap<>(source.size());
-        for (final Map.Entry<A, B> entry : source.entrySet()) {
-            map.put(entry.getKey(), function.apply(entry.getValue()));
+        catch (final IOException exception) {
+            LOG.warning("Unable to keep the owner of configuration file " + original + ": " + exception.getMessage());
         }
-        return map;
     }
 
-    private static List<Field> getDeclaredFields(final Class<?> clazz) {
-        final List<Field> fields = new ArrayList<>();
-        for (Class<?> clazz0 = clazz; clazz0 != null; clazz0 = clazz0.getSuperclass()) {
-            fields.addAll(Arrays.asList(clazz0.getDeclaredFields()));
+    private void write(final JsonWriter writer, final Map<String, Value<Object>> properties) throws IOException {
+        writer.beginObject();
+        for (final Map.Entry<String, Value<Object>> entry : properties.entrySet()) {
+            final String name = entry.getKey();
+            if (this.hidden.contains(name)) {
+                continue;
+            }
+            writer.name(name);
+            Json.write(writer, entry.getValue().get());
         }
-        return fields;
-    }
-
-    private static List<Annotation> getAnnotations(final Field field) {
-        final Annotation[] annotations = field.getDeclaredAnnotations();
-        return (annotations != null) ? Arrays.asList(annotations) : Collections.emptyList();
+        writer.endObject();
+        writer.flush();
     }
 
-    boolean isPropertyField(final Field field) {
-        return (this.getStatus(field).isValid());
-    }
-
-    Status getStatus(final Field field) {
-        if (field == null) {
-            return Status.OTHER;
-        }
-        final List<Property> annotations = getAnnotations(field).stream()
-                .filter(annotation -> annotation instanceof Property)
-                .map(annotation -> (Property) annotation)
-                .collect(Collectors.toList())
-        ;
-        if (annotations.size() == 0) {
-            return Status.NONE;
-        }
-        if (Modifier.isStatic(field.getModifiers())) {
-            return Status.STATIC;
-        }
-        if (!Modifier.isFinal(field.getModifiers())) {
-            return Status.ASSIGNABLE;
+    /**
+     *  Flushes the specified directory so a rename within it survives a crash. Not every platform allows a directory to
+     *  be opened, in which case this does nothing.
+     *
+     * @param directory The directory to flush
+     */
+    private static void force(final Path directory) {
+        if (directory == null) {
+            return;
         }
-        if (!Value.class.isAssignableFrom(field.getType())) {
-            return Status.WRONG_TYPE;
+        try (final FileChannel channel = FileChannel.open(directory, StandardOpenOption.READ)) {
+            channel.force(true);
         }
-        if (this.getValue(field) == null) {
-            return Status.NULL;
+        catch (final IOException exception) {
+            LOG.fine("Unable to flush directory " + directory + ": " + exception.getMessage());
         }
-        final boolean isHidden = getAnnotations(field).stream().anyMatch(annotation -> annotation instanceof Hidden);
-        return (isHidden) ? Status.HIDDEN : Status.VALID;
     }
 
-    private Value<Object> getValue(final Field field) {
-        try {
-            field.setAccessible(true);
-            final Object value = field.get(this);
-            if (value instanceof Value) {
-                return (Value<Object>) value;
-            }
-        }
-        catch (final ReflectiveOperationException exception) {
-            exception.printStackTrace();
-        }
-        return null;
+    /**
+     *  Writes the contents of a configuration file
+     */
+    @FunctionalInterface
+    private interface Output {
+        void write(final FileChannel channel) throws IOException;
     }
 
-    private enum Status {
+    enum Status {
         VALID, HIDDEN, STATIC, ASSIGNABLE, WRONG_TYPE, NONE, NULL, OTHER;
 
         boolean isValid() {
@@ -486,4 +866,87 @@ public class Configuration {
         }
     }
 
+    /**
+     *  Stages changes within {@link #transaction(Consumer)}
+     */
+    public interface Editor {
+
+        /**
+         *  Returns the value of the specified property, including changes staged by this transaction
+         *
+         * @param property The property
+         * @return The value, or null if there is none
+         */
+        Object get(final String property);
+
+        /**
+         *  Stages a change to the specified property. A (null) value removes the property.
+         *
+         * @param property The property
+         * @param value The new value
+         * @return this
+         */
+        Editor set(final String property, final Object value);
+    }
+
+    /**
+     *  Selects how a Configuration synchronizes access to its properties
+     */
+    public enum Mode {
+        /**
+         *  Guards the properties with a {@link ReentrantReadWriteLock}. Every lookup takes the read lock.
+         */
+        LOCKING,
+        /**
+         *  Publishes an immutable snapshot of the properties through a volatile reference. Lookups never lock, while
+         *  adding or removing a property copies the snapshot and swaps the copy in. Changing a property assigns its
+         *  {@link Value} in place, so a lookup may observe a bulk change such as {@link #setAll(Map)} partially
+         *  applied, while {@link #getAll(Collection)} does not. Suited to read-mostly use.
+         */
+        SNAPSHOT,
+        /**
+         *  Backs the properties with a {@link java.util.concurrent.ConcurrentHashMap}. Lookups never lock and changes to
+         *  different properties do not block each other. Only bulk loads, such as {@link #read(File)}, take a coarse
+         *  lock, which keeps properties from being added or removed meanwhile. Lookups and changes to existing
+         *  properties do not take it, so a lookup may observe a bulk change partially applied, while
+         *  {@link #getAll(Collection)} does not, and a change to an existing property may land in the middle of a bulk
+         *  change. Suited to many concurrent writers.
+         */
+        CONCURRENT,
+        /**
+         *  Guards the properties with a {@link java.util.concurrent.locks.StampedLock}. Lookups use an optimistic read
+         *  and perform no atomic update while no writer is active, falling back to the read lock otherwise. Suited to
+         *  read-mostly use where properties are still added or removed regularly.
+         */
+        STAMPED,
+        /**
+         *  Keeps property values in dense arrays indexed by slot numbers from an open addressing name index, instead of
+         *  one map entry and one {@link Value} per property. Lookups use an optimistic read as {@link #STAMPED}. Suited
+         *  to configurations with very many dynamic properties.
+         */
+        DENSE
+    }
+
+    /**
+     *  Selects how {@link #write(File, Durability)} replaces the target file
+     */
+    public enum Durability {
+        /**
+         *  Truncates the target and writes it in place. A crash part way through leaves the file incomplete.
+         */
+        TRUNCATE,
+        /**
+         *  Writes a temporary file in the same directory and moves it over the target atomically. Readers see the old
+         *  or the new file, never a partial one, though a crash of the host may still lose the most recent write. The
+         *  target is resolved through symbolic links first, and on POSIX file systems the new file keeps the
+         *  permissions, owner and group of the one it replaces.
+         */
+        ATOMIC,
+        /**
+         *  As {@link #ATOMIC}, but forces the temporary file and then the directory to storage, so a completed write
+         *  survives a crash of the host. The slowest mode.
+         */
+        SYNC
+    }
+
 }
\ No newline at end of file
@@ -0,0 +1,516 @@
+package com.configurable;
+
+import java.util.*;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ *  A {@link Store} keeping property values in dense arrays rather than one map entry and one {@link Value} per
+ *  property, for configurations with very many dynamic properties.
+ *
+ *  Property names are mapped to slot numbers by an open addressing index with linear probing. Each slot holds the raw
+ *  value in a page of parallel arrays, and slots are reused once their property is removed. The Values handed out for a
+ *  slot are thin {@link SlotValue} views reading and writing the page directly. A generation counter per slot makes
+ *  views of a removed property inert, so they never observe a property later given the same slot.
+ *
+ *  Values bound to fields of a Configuration subclass, and views with subscribers, are kept per slot so every lookup
+ *  returns the same instance. The index is guarded by a {@link ReentrantStampedLock}, and lookups use an optimistic
+ *  read.
+ */
+final class DenseStore extends Store {
+
+    private static final int SHIFT = 10;
+    private static final int PAGE = 1 << SHIFT;
+    private static final String TOMBSTONE = new String("");
+    private static final long RETRY = -2;
+
+    private final StampedLock synchronization = new ReentrantStampedLock();
+    private final Map<String, Value<Object>> view = new DenseMap();
+
+    private volatile Index index = new Index(16);
+    private volatile Page[] pages = new Page[0];
+    private int slots = 0;
+    private int[] free = new int[16];
+    private int freeCount = 0;
+
+    @Override
+    Value<Object> get(final String property) {
+        final long location = this.locate(property);
+        return (location >= 0) ? this.getHandle(getSlot(location), getGeneration(location)) : null;
+    }
+
+    @Override
+    Object load(final String property) {
+        final long location = this.locate(property);
+        if (location < 0) {
+            return null;
+        }
+        final int slot = getSlot(location);
+        final Page page = this.pages[slot >>> SHIFT];
+        final Value<Object> handle = page.handles.get(slot & (PAGE - 1));
+        if (handle == null) {
+            return this.load(slot, getGeneration(location));
+        }
+        final Object value = handle.get();
+        return (page.generations.get(slot & (PAGE - 1)) == getGeneration(location)) ? value : null;
+    }
+
+    @Override
+    Value<Object> computeIfAbsent(final String property) {
+        final Value<Object> reference = this.get(property);
+        if (reference != null) {
+            return reference;
+        }
+        final long stamp = this.synchronization.writeLock();
+        try {
+            return this.getHandle(this.create(property));
+        }
+        finally {
+            this.synchronization.unlockWrite(stamp);
+        }
+    }
+
+    @Override
+    Value<Object> pin(final String property) {
+        final long stamp = this.synchronization.writeLock();
+        try {
+            final int slot = this.create(property);
+            final Page page = this.pages[slot >>> SHIFT];
+            Value<Object> handle = page.handles.get(slot & (PAGE - 1));
+            if (handle == null) {
+                handle = new SlotValue(this, slot, page.generations.get(slot & (PAGE - 1)));
+                page.handles.set(slot & (PAGE - 1), handle);
+            }
+            return handle;
+        }
+        finally {
+            this.synchronization.unlockWrite(stamp);
+        }
+    }
+
+    @Override
+    Value<Object> remove(final String property) {
+        final long stamp = this.synchronization.writeLock();
+        try {
+            return this.delete(property);
+        }
+        finally {
+            this.synchronization.unlockWrite(stamp);
+        }
+    }
+
+    @Override
+    void update(final Consumer<Map<String, Value<Object>>> function) {
+        final long stamp = this.synchronization.writeLock();
+        try {
+            function.accept(this.view);
+            this.modified();
+        }
+        finally {
+            this.synchronization.unlockWrite(stamp);
+        }
+    }
+
+    @Override
+    <A> A read(final Function<Map<String, Value<Object>>, A> function) {
+        final long stamp = this.synchronization.readLock();
+        try {
+            return function.apply(this.view);
+        }
+        finally {
+            this.synchronization.unlockRead(stamp);
+        }
+    }
+
+    @Override
+    Map<String, Value<Object>> snapshot() {
+        final long stamp = this.synchronization.readLock();
+        try {
+            return new HashMap<>(this.view);
+        }
+        finally {
+            this.synchronization.unlockRead(stamp);
+        }
+    }
+
+    /**
+     *  Reads the value of the specified slot
+     *
+     * @return The value, or null if the slot no longer holds the property of the specified generation
+     */
+    Object load(final int slot, final int generation) {
+        final Page page = this.pages[slot >>> SHIFT];
+        final Object value = page.values.get(slot & (PAGE - 1));
+        return (page.generations.get(slot & (PAGE - 1)) == generation) ? value : null;
+    }
+
+    /**
+     *  Writes the value of the specified slot, unless it no longer holds the property of the specified generation
+     */
+    void store(final int slot, final int generation, final Object value, final Value.Memory memory) {
+        final Page page = this.pages[slot >>> SHIFT];
+        if (page.generations.get(slot & (PAGE - 1)) != generation) {
+            return;
+        }
+        if (memory == Value.Memory.VOLATILE) {
+            page.values.set(slot & (PAGE - 1), value);
+        }
+        else {
+            page.values.lazySet(slot & (PAGE - 1), value);
+        }
+    }
+
+    /**
+     *  Atomically replaces the value of the specified slot, unless it no longer holds the property of the specified
+     *  generation
+     *
+     * @return The value replaced, or null if the slot no longer holds the property
+     */
+    Object swap(final int slot, final int generation, final Object value) {
+        final Page page = this.pages[slot >>> SHIFT];
+        if (page.generations.get(slot & (PAGE - 1)) != generation) {
+            return null;
+        }
+        return page.values.getAndSet(slot & (PAGE - 1), value);
+    }
+
+    /**
+     *  Atomically replaces the value of the specified slot if it is the expected one and the slot still holds the
+     *  property of the specified generation
+     */
+    boolean cas(final int slot, final int generation, final Object expect, final Object update) {
+        final Page page = this.pages[slot >>> SHIFT];
+        return page.generations.get(slot & (PAGE - 1)) == generation
+                && page.values.compareAndSet(slot & (PAGE - 1), expect, update)
+        ;
+    }
+
+    /**
+     *  Returns the Value kept for the specified slot, if the slot still holds the property of the specified generation
+     */
+    Value<Object> getPinned(final int slot, final int generation) {
+        final Page page = this.pages[slot >>> SHIFT];
+        final Value<Object> handle = page.handles.get(slot & (PAGE - 1));
+        return (page.generations.get(slot & (PAGE - 1)) == generation) ? handle : null;
+    }
+
+    /**
+     *  Returns the Value of the specified slot. Requires the lock.
+     */
+    private Value<Object> getHandle(final int slot) {
+        return this.getHandle(slot, this.pages[slot >>> SHIFT].generations.get(slot & (PAGE - 1)));
+    }
+
+    /**
+     * @return The Value of the specified slot, or null if it no longer holds the property of the specified generation
+     */
+    private Value<Object> getHandle(final int slot, final int generation) {
+        final Page page = this.pages[slot >>> SHIFT];
+        final Value<Object> handle = page.handles.get(slot & (PAGE - 1));
+        if (page.generations.get(slot & (PAGE - 1)) != generation) {
+            return null;
+        }
+        return (handle != null) ? handle : new SlotValue(this, slot, generation);
+    }
+
+    /**
+     *  Finds the slot of the specified property together with its generation, so later reads of the slot can tell
+     *  whether it was freed and reused in the meantime
+     *
+     * @return The slot in the high and the generation in the low 32 bits, or -1 if there is no such property
+     */
+    private long locate(final String property) {
+        final long stamp = this.synchronization.tryOptimisticRead();
+        if (stamp != 0) {
+            final long location = this.locate(this.index, this.pages, property);
+            if (location != RETRY && this.synchronization.validate(stamp)) {
+                return location;
+            }
+        }
+        final long readStamp = this.synchronization.readLock();
+        try {
+            return this.locate(this.index, this.pages, property);
+        }
+        finally {
+            this.synchronization.unlockRead(readStamp);
+        }
+    }
+
+    /**
+     *  Looks the specified property up without the lock. The index may be modified concurrently, so the result is only
+     *  meaningful once the optimistic read is validated, but the lookup itself never fails or loops: the probe is
+     *  bounded by the capacity of the index and slots beyond the specified pages are reported instead of read.
+     *
+     * @return The location as {@link #locate(String)}, or {@link #RETRY} if a concurrent change was observed
+     */
+    private long locate(final Index index, final Page[] pages, final String property) {
+        final int slot = index.find(property);
+        if (slot < 0) {
+            return -1;
+        }
+        if ((slot >>> SHIFT) >= pages.length) {
+            return RETRY;
+        }
+        final int generation = pages[slot >>> SHIFT].generations.get(slot & (PAGE - 1));
+        return ((long) slot << 32) | (generation & 0xFFFFFFFFL);
+    }
+
+    private static int getSlot(final long location) {
+        return (int) (location >>> 32);
+    }
+
+    private static int getGeneration(final long location) {
+        return (int) location;
+    }
+
+    /**
+     *  Returns the slot of the specified property, allocating one first if there is none. Requires the write lock.
+     */
+    private int create(final String property) {
+        final int existing = this.index.find(property);
+        if (existing >= 0) {
+            return existing;
+        }
+        final int slot;
+        if (this.freeCount > 0) {
+            slot = this.free[--this.freeCount];
+        }
+        else {
+            slot = this.slots++;
+            if ((slot >>> SHIFT) >= this.pages.length) {
+                final Page[] pages = Arrays.copyOf(this.pages, this.pages.length + 1);
+                pages[pages.length - 1] = new Page();
+                this.pages = pages;
+            }
+        }
+        this.pages[slot >>> SHIFT].names[slot & (PAGE - 1)] = property;
+        if (!this.index.insert(property, slot)) {
+            this.index = this.index.rehash();
+            this.index.insert(property, slot);
+        }
+        this.modified();
+        return slot;
+    }
+
+    /**
+     *  Removes the specified property and frees its slot. Requires the write lock.
+     */
+    private Value<Object> delete(final Object property) {
+        final int slot = this.index.remove(property);
+        if (slot < 0) {
+            return null;
+        }
+        final Page page = this.pages[slot >>> SHIFT];
+        final int offset = slot & (PAGE - 1);
+        final Value<Object> handle = page.handles.get(offset);
+        final Value<Object> removed = (handle instanceof SlotValue || handle == null) ? Value.to(page.values.get(offset)) : handle;
+        page.generations.incrementAndGet(offset);
+        page.values.set(offset, null);
+        page.handles.set(offset, null);
+        page.names[offset] = null;
+        if (this.freeCount == this.free.length) {
+            this.free = Arrays.copyOf(this.free, this.free.length * 2);
+        }
+        this.free[this.freeCount++] = slot;
+        this.modified();
+        return removed;
+    }
+
+    private static int hash(final Object key) {
+        final int hash = key.hashCode();
+        return hash ^ (hash >>> 16);
+    }
+
+    /**
+     *  One page of slots. Names are only accessed under the lock, everything else may be read by views at any time.
+     */
+    private static final class Page {
+        private final AtomicReferenceArray<Object> values = new AtomicReferenceArray<>(PAGE);
+        private final AtomicReferenceArray<Value<Object>> handles = new AtomicReferenceArray<>(PAGE);
+        private final AtomicIntegerArray generations = new AtomicIntegerArray(PAGE);
+        private final String[] names = new String[PAGE];
+    }
+
+    /**
+     *  Open addressing table from property names to slots. Removed names leave a tombstone until the next rehash.
+     */
+    private static final class Index {
+        private final String[] keys;
+        private final int[] slots;
+        private int size = 0;
+        private int used = 0;
+
+        private Index(final int capacity) {
+            this.keys = new String[capacity];
+            this.slots = new int[capacity];
+        }
+
+        /**
+         *  Also used by optimistic reads racing writers, so the probe visits every position at most once
+         */
+        private int find(final Object key) {
+            final String[] keys = this.keys;
+            final int mask = keys.length - 1;
+            for (int position = hash(key) & mask, probes = 0; probes < keys.length; position = (position + 1) & mask, probes++) {
+                final String candidate = keys[position];
+                if (candidate == null) {
+                    return -1;
+                }
+                if (candidate != TOMBSTONE && candidate.equals(key)) {
+                    return this.slots[position];
+                }
+            }
+            return -1;
+        }
+
+        /**
+         * @return false if the table is too full, in which case it must be rehashed first
+         */
+        private boolean insert(final String key, final int slot) {
+            if ((this.used + 1) * 4 > this.keys.length * 3) {
+                return false;
+            }
+            final int mask = this.keys.length - 1;
+            int position = hash(key) & mask;
+            while (this.keys[position] != null && this.keys[position] != TOMBSTONE) {
+                position = (position + 1) & mask;
+            }
+            if (this.keys[position] == null) {
+                this.used++;
+            }
+            this.slots[position] = slot;
+            this.keys[position] = key;
+            this.size++;
+            return true;
+        }
+
+        private int remove(final Object key) {
+            final int mask = this.keys.length - 1;
+            for (int position = hash(key) & mask; this.keys[position] != null; position = (position + 1) & mask) {
+                final String candidate = this.keys[position];
+                if (candidate != TOMBSTONE && candidate.equals(key)) {
+                    this.keys[position] = TOMBSTONE;
+                    this.size--;
+                    return this.slots[position];
+                }
+            }
+            return -1;
+        }
+
+        private Index rehash() {
+            int capacity = this.keys.length;
+            while ((this.size + 1) * 2 > capacity) {
+                capacity *= 2;
+            }
+            final Index index = new Index(capacity);
+            for (int position = 0; position < this.keys.length; position++) {
+                final String key = this.keys[position];
+                if (key != null && key != TOMBSTONE) {
+                    index.insert(key, this.slots[position]);
+                }
+            }
+            return index;
+        }
+    }
+
+    /**
+     *  The mapping as seen by {@link #update(Consumer)} and {@link #read(Function)}, which hold the lock while using it.
+     *  Values put into it are kept for their slot. Values computed by {@link #computeIfAbsent(Object, Function)} are
+     *  stored in the slot instead, so properties created by bulk loads stay dense.
+     */
+    private final class DenseMap extends AbstractMap<String, Value<Object>> {
+
+        @Override
+        public int size() {
+            return DenseStore.this.index.size;
+        }
+
+        @Override
+        public boolean containsKey(final Object key) {
+            return DenseStore.this.index.find(key) >= 0;
+        }
+
+        @Override
+        public Value<Object> get(final Object key) {
+            final int slot = DenseStore.this.index.find(key);
+            return (slot >= 0) ? DenseStore.this.getHandle(slot) : null;
+        }
+
+        @Override
+        public Value<Object> put(final String key, final Value<Object> value) {
+            Objects.requireNonNull(value);
+            final Value<Object> previous = this.get(key);
+            final int slot = DenseStore.this.create(key);
+            final Page page = DenseStore.this.pages[slot >>> SHIFT];
+            if (!(value instanceof SlotValue && ((SlotValue) value).isSlot(DenseStore.this, slot))) {
+                page.values.set(slot & (PAGE - 1), null);
+                page.handles.set(slot & (PAGE - 1), value);
+            }
+            return previous;
+        }
+
+        @Override
+        public Value<Object> computeIfAbsent(final String key, final Function<? super String, ? extends Value<Object>> function) {
+            final Value<Object> existing = this.get(key);
+            if (existing != null) {
+                return existing;
+            }
+            final Value<Object> value = function.apply(key);
+            if (value == null) {
+                return null;
+            }
+            final int slot = DenseStore.this.create(key);
+            DenseStore.this.pages[slot >>> SHIFT].values.set(slot & (PAGE - 1), value.get());
+            return DenseStore.this.getHandle(slot);
+        }
+
+        @Override
+        public Value<Object> remove(final Object key) {
+            return DenseStore.this.delete(key);
+        }
+
+        @Override
+        public Set<Entry<String, Value<Object>>> entrySet() {
+            return new AbstractSet<Entry<String, Value<Object>>>() {
+                @Override
+                public int size() {
+                    return DenseMap.this.size();
+                }
+
+                @Override
+                public Iterator<Entry<String, Value<Object>>> iterator() {
+                    return new Iterator<Entry<String, Value<Object>>>() {
+                        private int slot = this.advance(0);
+
+                        private int advance(int slot) {
+                            final Page[] pages = DenseStore.this.pages;
+                            while (slot < DenseStore.this.slots && pages[slot >>> SHIFT].names[slot & (PAGE - 1)] == null) {
+                                slot++;
+                            }
+                            return slot;
+                        }
+
+                        @Override
+                        public boolean hasNext() {
+                            return this.slot < DenseStore.this.slots;
+                        }
+
+                        @Override
+                        public Entry<String, Value<Object>> next() {
+                            if (!this.hasNext()) {
+                                throw new NoSuchElementException();
+                            }
+                            final int slot = this.slot;
+                            final String name = DenseStore.this.pages[slot >>> SHIFT].names[slot & (PAGE - 1)];
+                            this.slot = this.advance(slot + 1);
+                            return new SimpleImmutableEntry<>(name, DenseStore.this.getHandle(slot));
+                        }
+                    };
+                }
+            };
+        }
+    }
+}
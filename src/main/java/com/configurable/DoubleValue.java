@@ -0,0 +1,184 @@
+package com.configurable;
+
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
+import java.util.function.DoubleBinaryOperator;
+import java.util.function.DoubleUnaryOperator;
+import java.util.logging.Logger;
+
+/**
+ *  A {@link Value} holding a double without boxing. Reading through {@link #getAsDouble()} and writing through
+ *  {@link #setAsDouble(double)} never allocate.
+ *
+ *  Assigning (null), for instance from a Json null, resets this value to the double it was created with. Values loaded
+ *  by a Configuration are coerced to double, and values which cannot be are ignored.
+ */
+public class DoubleValue extends Value<Double> {
+    private static final Logger LOG = Logger.getLogger("Configurable");
+
+    private static final AtomicLongFieldUpdater<DoubleValue> VALUE = AtomicLongFieldUpdater.newUpdater(DoubleValue.class, "value");
+
+    private final double initialValue;
+    private volatile long value;
+
+    protected DoubleValue(final double value) {
+        this(value, Memory.RELEASE);
+    }
+
+    protected DoubleValue(final double value, final Memory memory) {
+        super(null, memory);
+        this.initialValue = value;
+        this.value = Double.doubleToRawLongBits(value);
+    }
+
+    /**
+     *  Returns the backing value without boxing
+     *
+     * @return The backing value
+     */
+    public double getAsDouble() {
+        return Double.longBitsToDouble(this.value);
+    }
+
+    /**
+     *  Sets the value for this Configuration property without boxing.
+     *  This change will propagate to the backing Configuration object.
+     *
+     * @param value The new value
+     * @return The old value
+     */
+    public double setAsDouble(final double value) {
+        final double oldValue = Double.longBitsToDouble(VALUE.getAndSet(this, Double.doubleToRawLongBits(value)));
+        if (Double.doubleToLongBits(oldValue) != Double.doubleToLongBits(value) && this.isObserved()) {
+            this.changed(oldValue, value);
+        }
+        return oldValue;
+    }
+
+    /**
+     *  Atomically sets this value to the specified update if it currently holds the expected value, without boxing
+     *
+     * @param expect The expected value
+     * @param update The new value
+     * @return true if the value was set, false if it did not hold the expected value
+     */
+    public boolean compareAndSetAsDouble(final double expect, final double update) {
+        if (!VALUE.compareAndSet(this, Double.doubleToRawLongBits(expect), Double.doubleToRawLongBits(update))) {
+            return false;
+        }
+        if (Double.doubleToLongBits(expect) != Double.doubleToLongBits(update) && this.isObserved()) {
+            this.changed(expect, update);
+        }
+        return true;
+    }
+
+    /**
+     *  Atomically replaces this value with the result of the specified function without boxing, see
+     *  {@link #getAndUpdate(java.util.function.UnaryOperator)}
+     *
+     * @param function The update function
+     * @return The old value
+     */
+    public double getAndUpdateAsDouble(final DoubleUnaryOperator function) {
+        long oldBits;
+        double newValue;
+        do {
+            oldBits = this.value;
+            newValue = function.applyAsDouble(Double.longBitsToDouble(oldBits));
+        }
+        while (!VALUE.compareAndSet(this, oldBits, Double.doubleToRawLongBits(newValue)));
+        final double oldValue = Double.longBitsToDouble(oldBits);
+        if (Double.doubleToLongBits(oldValue) != Double.doubleToLongBits(newValue) && this.isObserved()) {
+            this.changed(oldValue, newValue);
+        }
+        return oldValue;
+    }
+
+    /**
+     *  Atomically replaces this value with the result of the specified function without boxing, see
+     *  {@link #updateAndGet(java.util.function.UnaryOperator)}
+     *
+     * @param function The update function
+     * @return The new value
+     */
+    public double updateAndGetAsDouble(final DoubleUnaryOperator function) {
+        long oldBits;
+        double newValue;
+        do {
+            oldBits = this.value;
+            newValue = function.applyAsDouble(Double.longBitsToDouble(oldBits));
+        }
+        while (!VALUE.compareAndSet(this, oldBits, Double.doubleToRawLongBits(newValue)));
+        final double oldValue = Double.longBitsToDouble(oldBits);
+        if (Double.doubleToLongBits(oldValue) != Double.doubleToLongBits(newValue) && this.isObserved()) {
+            this.changed(oldValue, newValue);
+        }
+        return newValue;
+    }
+
+    /**
+     *  Atomically replaces this value with the result of the specified function applied to the current value and the
+     *  specified argument without boxing, see {@link #accumulateAndGet(Object, java.util.function.BinaryOperator)}
+     *
+     * @param value The second argument of the function
+     * @param function The accumulator function
+     * @return The new value
+     */
+    public double accumulateAndGetAsDouble(final double value, final DoubleBinaryOperator function) {
+        return this.updateAndGetAsDouble(current -> function.applyAsDouble(current, value));
+    }
+
+    private void write(final double value) {
+        if (this.getMemory() == Memory.VOLATILE) {
+            this.value = Double.doubleToRawLongBits(value);
+        }
+        else {
+            VALUE.lazySet(this, Double.doubleToRawLongBits(value));
+        }
+    }
+
+    @Override
+    Double load() {
+        return this.getAsDouble();
+    }
+
+    @Override
+    void store(final Double value) {
+        this.write((value != null) ? value : this.initialValue);
+    }
+
+    @Override
+    Double swap(final Double value) {
+        return Double.longBitsToDouble(VALUE.getAndSet(this, Double.doubleToRawLongBits(value)));
+    }
+
+    @Override
+    boolean cas(final Double expect, final Double update) {
+        return (expect != null) && VALUE.compareAndSet(this, Double.doubleToRawLongBits(expect), Double.doubleToRawLongBits(this.normalize(update)));
+    }
+
+    @Override
+    Double normalize(final Double value) {
+        return (value != null) ? value : this.initialValue;
+    }
+
+    @Override
+    Object assign(final Object value) {
+        if (value == null) {
+            return this.set(null);
+        }
+        final Double coerced = Json.asDouble(value);
+        if (coerced == null) {
+            LOG.warning("Unable to assign " + value + " to " + this);
+            return this.getAsDouble();
+        }
+        return this.setAsDouble(coerced);
+    }
+
+    public static DoubleValue to(final double value) {
+        return new DoubleValue(value);
+    }
+
+    public static DoubleValue to(final double value, final Memory memory) {
+        return new DoubleValue(value, memory);
+    }
+}
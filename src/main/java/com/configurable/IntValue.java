@@ -0,0 +1,182 @@
+package com.configurable;
+
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.function.IntBinaryOperator;
+import java.util.function.IntUnaryOperator;
+import java.util.logging.Logger;
+
+/**
+ *  A {@link Value} holding an int without boxing. Reading through {@link #getAsInt()} and writing through
+ *  {@link #setAsInt(int)} never allocate.
+ *
+ *  Assigning (null), for instance from a Json null, resets this value to the int it was created with. Values loaded
+ *  by a Configuration are coerced to int when this is exact, and values which cannot be are ignored.
+ */
+public class IntValue extends Value<Integer> {
+    private static final Logger LOG = Logger.getLogger("Configurable");
+
+    private static final AtomicIntegerFieldUpdater<IntValue> VALUE = AtomicIntegerFieldUpdater.newUpdater(IntValue.class, "value");
+
+    private final int initialValue;
+    private volatile int value;
+
+    protected IntValue(final int value) {
+        this(value, Memory.RELEASE);
+    }
+
+    protected IntValue(final int value, final Memory memory) {
+        super(null, memory);
+        this.initialValue = value;
+        this.value = value;
+    }
+
+    /**
+     *  Returns the backing value without boxing
+     *
+     * @return The backing value
+     */
+    public int getAsInt() {
+        return this.value;
+    }
+
+    /**
+     *  Sets the value for this Configuration property without boxing.
+     *  This change will propagate to the backing Configuration object.
+     *
+     * @param value The new value
+     * @return The old value
+     */
+    public int setAsInt(final int value) {
+        final int oldValue = VALUE.getAndSet(this, value);
+        if (oldValue != value && this.isObserved()) {
+            this.changed(oldValue, value);
+        }
+        return oldValue;
+    }
+
+    /**
+     *  Atomically sets this value to the specified update if it currently holds the expected value, without boxing
+     *
+     * @param expect The expected value
+     * @param update The new value
+     * @return true if the value was set, false if it did not hold the expected value
+     */
+    public boolean compareAndSetAsInt(final int expect, final int update) {
+        if (!VALUE.compareAndSet(this, expect, update)) {
+            return false;
+        }
+        if (expect != update && this.isObserved()) {
+            this.changed(expect, update);
+        }
+        return true;
+    }
+
+    /**
+     *  Atomically replaces this value with the result of the specified function without boxing, see
+     *  {@link #getAndUpdate(java.util.function.UnaryOperator)}
+     *
+     * @param function The update function
+     * @return The old value
+     */
+    public int getAndUpdateAsInt(final IntUnaryOperator function) {
+        int oldValue;
+        int newValue;
+        do {
+            oldValue = this.value;
+            newValue = function.applyAsInt(oldValue);
+        }
+        while (!VALUE.compareAndSet(this, oldValue, newValue));
+        if (oldValue != newValue && this.isObserved()) {
+            this.changed(oldValue, newValue);
+        }
+        return oldValue;
+    }
+
+    /**
+     *  Atomically replaces this value with the result of the specified function without boxing, see
+     *  {@link #updateAndGet(java.util.function.UnaryOperator)}
+     *
+     * @param function The update function
+     * @return The new value
+     */
+    public int updateAndGetAsInt(final IntUnaryOperator function) {
+        int oldValue;
+        int newValue;
+        do {
+            oldValue = this.value;
+            newValue = function.applyAsInt(oldValue);
+        }
+        while (!VALUE.compareAndSet(this, oldValue, newValue));
+        if (oldValue != newValue && this.isObserved()) {
+            this.changed(oldValue, newValue);
+        }
+        return newValue;
+    }
+
+    /**
+     *  Atomically replaces this value with the result of the specified function applied to the current value and the
+     *  specified argument without boxing, see {@link #accumulateAndGet(Object, java.util.function.BinaryOperator)}
+     *
+     * @param value The second argument of the function
+     * @param function The accumulator function
+     * @return The new value
+     */
+    public int accumulateAndGetAsInt(final int value, final IntBinaryOperator function) {
+        return this.updateAndGetAsInt(current -> function.applyAsInt(current, value));
+    }
+
+    private void write(final int value) {
+        if (this.getMemory() == Memory.VOLATILE) {
+            this.value = value;
+        }
+        else {
+            VALUE.lazySet(this, value);
+        }
+    }
+
+    @Override
+    Integer load() {
+        return this.getAsInt();
+    }
+
+    @Override
+    void store(final Integer value) {
+        this.write((value != null) ? value : this.initialValue);
+    }
+
+    @Override
+    Integer swap(final Integer value) {
+        return VALUE.getAndSet(this, value);
+    }
+
+    @Override
+    boolean cas(final Integer expect, final Integer update) {
+        return (expect != null) && VALUE.compareAndSet(this, expect, this.normalize(update));
+    }
+
+    @Override
+    Integer normalize(final Integer value) {
+        return (value != null) ? value : this.initialValue;
+    }
+
+    @Override
+    Object assign(final Object value) {
+        if (value == null) {
+            return this.set(null);
+        }
+        final Long coerced = Json.asLong(value);
+        if (coerced == null || coerced.longValue() != coerced.intValue()) {
+            LOG.warning("Unable to assign " + value + " to " + this);
+            return this.getAsInt();
+        }
+        return this.setAsInt(coerced.intValue());
+    }
+
+    public static IntValue to(final int value) {
+        return new IntValue(value);
+    }
+
+    public static IntValue to(final int value, final Memory memory) {
+        return new IntValue(value, memory);
+    }
+}
@@ -0,0 +1,339 @@
+package com.configurable;
+
+import com.google.gson.JsonParseException;
+import com.google.gson.internal.LazilyParsedNumber;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.util.*;
+
+/**
+ *  Decodes Json straight from a {@link JsonReader} into the plain Java values held by Configuration properties:
+ *  {@link Map}, {@link List}, {@link String}, {@link Boolean}, {@link Number} and (null), and encodes them back
+ *  through a {@link JsonWriter}. Nested objects and arrays are decoded lazily, see {@link JsonText}.
+ */
+final class Json {
+
+    private Json() {
+
+    }
+
+    /**
+     *  Reads the next value from the specified reader. Objects and arrays are returned as views decoding themselves when
+     *  first accessed.
+     *
+     * @param reader The reader to consume
+     * @return The decoded value
+     * @throws IOException If the reader fails or the Json is malformed
+     */
+    static Object read(final JsonReader reader) throws IOException {
+        final JsonToken token = reader.peek();
+        switch (token) {
+            case BEGIN_OBJECT:
+            case BEGIN_ARRAY:
+                return JsonText.capture(reader);
+            case STRING:
+                return reader.nextString();
+            case NUMBER:
+                return asNumber(reader.nextString());
+            case BOOLEAN:
+                return reader.nextBoolean();
+            case NULL:
+                reader.nextNull();
+                return null;
+            default:
+                throw new JsonParseException("Unexpected " + token + " at " + reader.getPath());
+        }
+    }
+
+    /**
+     *  Reads the next value from the specified reader, which must be a Json object
+     *
+     * @param reader The reader to consume
+     * @return The decoded object
+     * @throws IOException If the reader fails or the Json is malformed
+     */
+    static Map<String, Object> readObject(final JsonReader reader) throws IOException {
+        reader.beginObject();
+        if (!reader.hasNext()) {
+            reader.endObject();
+            return Collections.emptyMap();
+        }
+        final Map<String, Object> map = new HashMap<>();
+        while (reader.hasNext()) {
+            final String key = reader.nextName();
+            map.put(key, read(reader));
+        }
+        reader.endObject();
+        return map;
+    }
+
+    /**
+     *  Returns the narrowest type representing the specified number exactly: {@link Integer}, then {@link Long}, then
+     *  {@link Double}, then {@link BigDecimal}. Numbers parsed lazily by Gson, such as {@link LazilyParsedNumber}, are
+     *  inspected through their literal.
+     *
+     * @param number The number
+     * @return The number in its narrowest exact type
+     */
+    static Number asNumber(final Number number) {
+        if (number instanceof Integer || number instanceof Long || number instanceof Double || number instanceof BigDecimal) {
+            return number;
+        }
+        return asNumber(number.toString());
+    }
+
+    /**
+     *  Returns the narrowest type representing the specified Json number literal exactly: {@link Integer}, then
+     *  {@link Long}, then {@link Double}, then {@link BigDecimal}.
+     *
+     *  Integer literals are accumulated while they are scanned. Other literals with at most 15 significant digits, which a
+     *  double always reproduces exactly, are parsed as a double directly. Literals of 16 or 17 significant digits are
+     *  parsed as a double when it reproduces them exactly, and all others as a BigDecimal.
+     *
+     * @param literal The number literal
+     * @return The number in its narrowest exact type
+     * @throws NumberFormatException If the literal is not a number
+     */
+    static Number asNumber(final String literal) {
+        final int length = literal.length();
+        int index = 0;
+        boolean negative = false;
+        if (length > 0 && (literal.charAt(0) == '-' || literal.charAt(0) == '+')) {
+            negative = (literal.charAt(0) == '-');
+            index++;
+        }
+
+        final int start = index;
+        long accumulator = 0;
+        boolean overflow = false;
+        for (; index < length; index++) {
+            final char character = literal.charAt(index);
+            if (character < '0' || character > '9') {
+                break;
+            }
+            final int digit = character - '0';
+            if (accumulator < (Long.MIN_VALUE + digit) / 10) {
+                overflow = true;
+            }
+            accumulator = accumulator * 10 - digit;
+        }
+        if (index == length && index > start) {
+            if (overflow || (!negative && accumulator == Long.MIN_VALUE)) {
+                return new BigDecimal(literal);
+            }
+            return narrow(negative ? accumulator : -accumulator);
+        }
+
+        int significant = 0;
+        int pending = 0;
+        for (int position = start; position < length; position++) {
+            final char character = literal.charAt(position);
+            if (character == 'e' || character == 'E') {
+                break;
+            }
+            if (character == '0') {
+                pending += (significant > 0) ? 1 : 0;
+            }
+            else if (character >= '1' && character <= '9') {
+                significant += pending + 1;
+                pending = 0;
+            }
+        }
+        if (significant <= 17) {
+            final double doubleValue = Double.parseDouble(literal);
+            final boolean isNormal = (Math.abs(doubleValue) >= Double.MIN_NORMAL && !Double.isInfinite(doubleValue));
+            final boolean isExact = (significant <= 15)
+                    || new BigDecimal(literal).compareTo(new BigDecimal(Double.toString(doubleValue))) == 0
+            ;
+            if (significant == 0 || (isNormal && isExact)) {
+                final long longValue = (long) doubleValue;
+                if (longValue == doubleValue && Math.abs(longValue) < (1L << 53)) {
+                    return narrow(longValue);
+                }
+                return doubleValue;
+            }
+        }
+        final BigDecimal decimal = new BigDecimal(literal);
+        if (decimal.signum() == 0 || (decimal.scale() <= 0 || decimal.stripTrailingZeros().scale() <= 0)) {
+            try {
+                return narrow(decimal.longValueExact());
+            }
+            catch (final ArithmeticException exception) {
+                return decimal;
+            }
+        }
+        return decimal;
+    }
+
+    private static Number narrow(final long value) {
+        final int intValue = (int) value;
+        return (intValue == value) ? (Number) intValue : (Number) value;
+    }
+
+    /**
+     *  Creates a writer producing the same output as a pretty printing, lenient {@link com.google.gson.Gson} which
+     *  serializes nulls
+     *
+     * @param output The destination
+     * @return A writer over the destination
+     */
+    static JsonWriter newWriter(final Writer output) {
+        final JsonWriter writer = new JsonWriter(output);
+        writer.setIndent("  ");
+        writer.setHtmlSafe(true);
+        writer.setLenient(true);
+        writer.setSerializeNulls(true);
+        return writer;
+    }
+
+    /**
+     *  Writes the specified value to the specified writer. Values of unsupported types are written as their string
+     *  representation. Lazily decoded objects and arrays are written without being kept decoded.
+     *
+     * @param writer The writer
+     * @param value The value to write
+     * @throws IOException If the writer fails
+     */
+    static void write(final JsonWriter writer, final Object value) throws IOException {
+        if (value instanceof LazyMap) {
+            write(writer, ((LazyMap) value).peek());
+        }
+        else if (value instanceof LazyList) {
+            write(writer, ((LazyList) value).peek());
+        }
+        else if (value == null) {
+            writer.nullValue();
+        }
+        else if (value instanceof Boolean) {
+            writer.value((Boolean) value);
+        }
+        else if (value instanceof Number) {
+            writer.value((Number) value);
+        }
+        else if (value instanceof String) {
+            writer.value((String) value);
+        }
+        else if (value instanceof Map) {
+            writer.beginObject();
+            for (final Map.Entry<?, ?> entry : ((Map<?, ?>) value).entrySet()) {
+                writer.name(String.valueOf(entry.getKey()));
+                write(writer, entry.getValue());
+            }
+            writer.endObject();
+        }
+        else if (value instanceof List) {
+            writer.beginArray();
+            for (final Object element : (List<?>) value) {
+                write(writer, element);
+            }
+            writer.endArray();
+        }
+        else {
+            writer.value(value.toString());
+        }
+    }
+
+    /**
+     *  Converts the specified number to a {@link Long} or a {@link Double} requested by a typed handle, such as a
+     *  {@link Key}, if the conversion is exact
+     *
+     * @param value A parsed or assigned value
+     * @param type The type requested
+     * @return The converted value, or null if the value is not a number, the type is neither Long nor Double, or the
+     *         number has no exact representation in it
+     */
+    static Object widen(final Object value, final Class<?> type) {
+        if (!(value instanceof Number)) {
+            return null;
+        }
+        if (type == Long.class) {
+            return asLong(value);
+        }
+        return (type == Double.class) ? asDouble(value) : null;
+    }
+
+    /**
+     *  Converts the specified value to a long if this is possible without loss
+     *
+     * @param value A parsed or assigned value
+     * @return The value as a long, or null if it has no exact long representation
+     */
+    static Long asLong(final Object value) {
+        if (value instanceof Long || value instanceof Integer || value instanceof Short || value instanceof Byte) {
+            return ((Number) value).longValue();
+        }
+        if (value instanceof BigDecimal) {
+            try {
+                return ((BigDecimal) value).longValueExact();
+            }
+            catch (final ArithmeticException exception) {
+                return null;
+            }
+        }
+        if (value instanceof Number) {
+            final double doubleValue = ((Number) value).doubleValue();
+            final long longValue = (long) doubleValue;
+            return (longValue == doubleValue && longValue != Long.MAX_VALUE && longValue != Long.MIN_VALUE) ? longValue : null;
+        }
+        if (value instanceof String) {
+            try {
+                return Long.parseLong(((String) value).trim());
+            }
+            catch (final NumberFormatException exception) {
+                return null;
+            }
+        }
+        return null;
+    }
+
+    /**
+     *  Converts the specified value to a double
+     *
+     * @param value A parsed or assigned value
+     * @return The value as a double, or null if it is not numeric
+     */
+    static Double asDouble(final Object value) {
+        if (value instanceof Float) {
+            return Double.parseDouble(value.toString());
+        }
+        if (value instanceof Number) {
+            return ((Number) value).doubleValue();
+        }
+        if (value instanceof String) {
+            try {
+                return Double.parseDouble(((String) value).trim());
+            }
+            catch (final NumberFormatException exception) {
+                return null;
+            }
+        }
+        return null;
+    }
+
+    /**
+     *  Converts the specified value to a boolean
+     *
+     * @param value A parsed or assigned value
+     * @return The value as a boolean, or null if it is neither a boolean nor the string "true" or "false"
+     */
+    static Boolean asBoolean(final Object value) {
+        if (value instanceof Boolean) {
+            return (Boolean) value;
+        }
+        if (value instanceof String) {
+            final String string = ((String) value).trim();
+            if (string.equalsIgnoreCase("true")) {
+                return Boolean.TRUE;
+            }
+            if (string.equalsIgnoreCase("false")) {
+                return Boolean.FALSE;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,213 @@
+package com.configurable;
+
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+import java.io.StringWriter;
+
+/**
+ *  Keeps nested Json objects and arrays as text until they are first accessed. While a file is parsed, each nested
+ *  value is copied token by token into compact, strict Json, and wrapped in a {@link LazyMap} or {@link LazyList} over
+ *  that text. Both are immutable, decoding to a {@link PersistentMap} or {@link PersistentVector}. Those decode one
+ *  level when first accessed, leaving their own nested values as views over ranges of the same text.
+ *
+ *  Since the copied text is always compact and strict, ranges are found by a simple scan and decoded without a reader.
+ */
+final class JsonText {
+
+    private JsonText() {
+
+    }
+
+    /**
+     *  Copies the next value from the specified reader, which must be a Json object or array, into a lazily decoded
+     *  view
+     *
+     * @param reader The reader to consume
+     * @return A {@link LazyMap} or {@link LazyList}, or an empty {@link PersistentMap} or {@link PersistentVector}
+     * @throws IOException If the reader fails or the Json is malformed
+     */
+    static Object capture(final JsonReader reader) throws IOException {
+        final StringWriter output = new StringWriter();
+        final JsonWriter writer = new JsonWriter(output);
+        writer.setLenient(true);
+        writer.setSerializeNulls(true);
+        int depth = 0;
+        do {
+            switch (reader.peek()) {
+                case BEGIN_OBJECT:
+                    reader.beginObject();
+                    writer.beginObject();
+                    depth++;
+                    break;
+                case END_OBJECT:
+                    reader.endObject();
+                    writer.endObject();
+                    depth--;
+                    break;
+                case BEGIN_ARRAY:
+                    reader.beginArray();
+                    writer.beginArray();
+                    depth++;
+                    break;
+                case END_ARRAY:
+                    reader.endArray();
+                    writer.endArray();
+                    depth--;
+                    break;
+                case NAME:
+                    writer.name(reader.nextName());
+                    break;
+                case STRING:
+                    writer.value(reader.nextString());
+                    break;
+                case NUMBER:
+                    writer.jsonValue(reader.nextString());
+                    break;
+                case BOOLEAN:
+                    writer.value(reader.nextBoolean());
+                    break;
+                case NULL:
+                    reader.nextNull();
+                    writer.nullValue();
+                    break;
+                default:
+                    throw new IOException("Unexpected " + reader.peek() + " at " + reader.getPath());
+            }
+        } while (depth > 0);
+        writer.flush();
+        final String text = output.toString();
+        return decode(text, 0, text.length());
+    }
+
+    /**
+     *  Decodes the value in the specified range. Objects and arrays are returned as views which are decoded later.
+     *
+     * @param text The compact Json text
+     * @param start The index of the first character of the value
+     * @param end The index after the last character of the value
+     * @return The decoded value
+     */
+    static Object decode(final String text, final int start, final int end) {
+        switch (text.charAt(start)) {
+            case '"':
+                return decodeString(text, start, end);
+            case '{':
+                return (end - start == 2) ? PersistentMap.empty() : new LazyMap(text, start, end);
+            case '[':
+                return (end - start == 2) ? PersistentVector.empty() : new LazyList(text, start, end);
+            case 't':
+                return Boolean.TRUE;
+            case 'f':
+                return Boolean.FALSE;
+            case 'n':
+                return null;
+            default:
+                return Json.asNumber(text.substring(start, end));
+        }
+    }
+
+    /**
+     *  Returns the index after the value starting at the specified index
+     *
+     * @param text The compact Json text
+     * @param start The index of the first character of the value
+     * @return The index after the last character of the value
+     */
+    static int skip(final String text, final int start) {
+        final char first = text.charAt(start);
+        if (first == '"') {
+            return skipString(text, start);
+        }
+        int index = start;
+        if (first == '{' || first == '[') {
+            int depth = 0;
+            do {
+                final char character = text.charAt(index);
+                if (character == '"') {
+                    index = skipString(text, index);
+                    continue;
+                }
+                if (character == '{' || character == '[') {
+                    depth++;
+                }
+                else if (character == '}' || character == ']') {
+                    depth--;
+                }
+                index++;
+            } while (depth > 0);
+            return index;
+        }
+        while (index < text.length()) {
+            final char character = text.charAt(index);
+            if (character == ',' || character == '}' || character == ']') {
+                break;
+            }
+            index++;
+        }
+        return index;
+    }
+
+    private static int skipString(final String text, final int start) {
+        for (int index = start + 1; ; index++) {
+            final char character = text.charAt(index);
+            if (character == '\\') {
+                index++;
+            }
+            else if (character == '"') {
+                return index + 1;
+            }
+        }
+    }
+
+    /**
+     *  Decodes the quoted string in the specified range
+     *
+     * @param text The compact Json text
+     * @param start The index of the opening quote
+     * @param end The index after the closing quote
+     * @return The unescaped string
+     */
+    static String decodeString(final String text, final int start, final int end) {
+        final int escape = text.indexOf('\\', start + 1);
+        if (escape < 0 || escape >= end) {
+            return text.substring(start + 1, end - 1);
+        }
+        final StringBuilder builder = new StringBuilder(end - start);
+        builder.append(text, start + 1, escape);
+        for (int index = escape; index < end - 1; index++) {
+            final char character = text.charAt(index);
+            if (character != '\\') {
+                builder.append(character);
+                continue;
+            }
+            final char escaped = text.charAt(++index);
+            switch (escaped) {
+                case 'b':
+                    builder.append('\b');
+                    break;
+                case 'f':
+                    builder.append('\f');
+                    break;
+                case 'n':
+                    builder.append('\n');
+                    break;
+                case 'r':
+                    builder.append('\r');
+                    break;
+                case 't':
+                    builder.append('\t');
+                    break;
+                case 'u':
+                    builder.append((char) Integer.parseInt(text.substring(index + 1, index + 5), 16));
+                    index += 4;
+                    break;
+                default:
+                    builder.append(escaped);
+                    break;
+            }
+        }
+        return builder.toString();
+    }
+}
@@ -0,0 +1,108 @@
+package com.configurable;
+
+import java.util.Objects;
+
+/**
+ *  A typed handle on a Configuration property, obtained from {@link Configuration#key(String, Class)}.
+ *
+ *  A Key resolves the {@link Value} holding its property once and caches it, so later reads are a reference load and a
+ *  type check, with no hashing or lookup. The cached Value is resolved again only after a property of the Configuration
+ *  was added or removed. A Key may be shared by any number of threads and Configuration instances, and is cheapest
+ *  when used with the same instance repeatedly.
+ *
+ *  Numbers are read as the narrowest type holding them exactly, so a {@link Long} or {@link Double} Key also accepts
+ *  the narrower numbers a property may hold, and converts them: a Long Key reads 8080 parsed as an {@link Integer}.
+ *
+ * @param <A> The Type of the property value
+ */
+public final class Key<A> {
+
+    private final String name;
+    private final Class<A> type;
+    private Resolution resolution = null;
+
+    Key(final String name, final Class<A> type) {
+        this.name = Objects.requireNonNull(name);
+        this.type = Objects.requireNonNull(type);
+    }
+
+    public String getName() {
+        return this.name;
+    }
+
+    public Class<A> getType() {
+        return this.type;
+    }
+
+    /**
+     *  Returns the value of this property on the specified Configuration
+     *
+     * @param configuration The Configuration to read
+     * @return The value, or null if the property does not exist
+     * @throws ClassCastException If the value is neither of the type of this Key nor a number it converts exactly
+     */
+    public A get(final Configuration configuration) {
+        final Value<Object> reference = this.resolve(configuration);
+        return (reference != null) ? this.cast(reference.get()) : null;
+    }
+
+    /**
+     *  Sets the value of this property on the specified Configuration, see {@link Configuration#set(String, Object)}
+     *
+     * @param configuration The Configuration to change
+     * @param value The new value
+     * @return The old value
+     */
+    public A set(final Configuration configuration, final A value) {
+        return (A) configuration.set(this.name, value);
+    }
+
+    private Value<Object> resolve(final Configuration configuration) {
+        final Store store = configuration.getProperties();
+        final long version = store.getVersion();
+        final Resolution resolution = this.resolution;
+        if (resolution != null && resolution.store == store && resolution.version == version) {
+            return resolution.reference;
+        }
+        final Value<Object> reference = store.get(this.name);
+        if (reference != null) {
+            this.cast(reference.get());
+        }
+        this.resolution = new Resolution(store, version, reference);
+        return reference;
+    }
+
+    /**
+     *  Casts the specified value to the type of this Key, widening numbers to a Long or Double Key exactly
+     */
+    private A cast(final Object value) {
+        if (value == null || this.type.isInstance(value)) {
+            return (A) value;
+        }
+        final Object converted = Json.widen(value, this.type);
+        if (converted == null) {
+            throw new ClassCastException("Property " + this.name + " of type " + value.getClass().getName() + " is not a " + this.type.getName());
+        }
+        return (A) converted;
+    }
+
+    @Override
+    public String toString() {
+        return this.getClass().getName() + "{name=" + this.name + ", type=" + this.type.getName() + "}";
+    }
+
+    /**
+     *  The Value a Key resolved to on one Configuration. Immutable, so it may be published through a plain field.
+     */
+    private static final class Resolution {
+        private final Store store;
+        private final long version;
+        private final Value<Object> reference;
+
+        private Resolution(final Store store, final long version, final Value<Object> reference) {
+            this.store = store;
+            this.version = version;
+            this.reference = reference;
+        }
+    }
+}
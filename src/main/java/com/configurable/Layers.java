@@ -0,0 +1,145 @@
+package com.configurable;
+
+import java.io.IOException;
+import java.util.*;
+import java.util.logging.Logger;
+
+/**
+ *  Merges an ordered list of {@link Source}s into a single {@link Configuration}, obtained from
+ *  {@link Configuration#layered(Source...)}. Each source is a layer, and a property takes its value from the last layer
+ *  defining it, so later sources override earlier ones.
+ *
+ *  The merged properties are held by the Configuration itself, so reading one is still a single lookup. The contents
+ *  of every layer are kept, and reloading a layer recomputes only the properties that layer added, removed or changed
+ *  and no later layer overrides. Those are applied as a single change, notifying listeners once. A property no longer
+ *  defined by any layer is removed, unless it is bound to a {@link Property} field, which is reset to the value it was
+ *  initialized with instead.
+ *
+ * @param <A> The type of the merged Configuration
+ */
+public final class Layers<A extends Configuration> {
+    private static final Logger LOG = Logger.getLogger("Configurable");
+
+    private final A configuration;
+    private final List<Source> sources;
+    private final List<Map<String, Object>> layers;
+    private final Map<String, Object> defaults = new HashMap<>();
+
+    Layers(final A configuration, final List<Source> sources) {
+        this.configuration = Objects.requireNonNull(configuration);
+        this.sources = Collections.unmodifiableList(new ArrayList<>(sources));
+        this.layers = new ArrayList<>(Collections.nCopies(this.sources.size(), Collections.emptyMap()));
+        for (final Metadata.Entry entry : Metadata.of(this.configuration.getClass()).getEntries()) {
+            final Value<Object> value = entry.getValue(this.configuration);
+            if (value != null) {
+                this.defaults.put(entry.getName(), value.get());
+            }
+        }
+        final Map<String, Object> merged = new HashMap<>();
+        for (int layer = 0; layer < this.sources.size(); layer++) {
+            final Map<String, Object> contents = this.load(layer);
+            if (contents != null) {
+                this.layers.set(layer, contents);
+                merged.putAll(contents);
+            }
+        }
+        Configuration.read(this.configuration, merged);
+    }
+
+    /**
+     * @return The Configuration holding the merged properties
+     */
+    public A getConfiguration() {
+        return this.configuration;
+    }
+
+    /**
+     * @return The sources, from the lowest to the highest precedence
+     */
+    public List<Source> getSources() {
+        return this.sources;
+    }
+
+    /**
+     *  Loads every layer again
+     *
+     * @return The number of merged properties changed
+     */
+    public synchronized int reload() {
+        int changed = 0;
+        for (int layer = 0; layer < this.sources.size(); layer++) {
+            changed += this.reload(layer);
+        }
+        return changed;
+    }
+
+    /**
+     *  Loads the specified layer again. If its source fails, the layer keeps its previous contents.
+     *
+     * @param layer The index of the layer, in the order the sources were given
+     * @return The number of merged properties changed
+     */
+    public synchronized int reload(final int layer) {
+        final Map<String, Object> contents = this.load(layer);
+        return (contents != null) ? this.replace(layer, contents) : 0;
+    }
+
+    private Map<String, Object> load(final int layer) {
+        try {
+            return Objects.requireNonNull(this.sources.get(layer).load());
+        }
+        catch (final IOException | RuntimeException exception) {
+            LOG.severe("Unable to load layer " + layer + ": " + exception.getMessage());
+            return null;
+        }
+    }
+
+    private int replace(final int layer, final Map<String, Object> contents) {
+        final Map<String, Object> previous = this.layers.get(layer);
+        this.layers.set(layer, contents);
+
+        final Set<String> affected = new HashSet<>();
+        for (final Map.Entry<String, Object> entry : contents.entrySet()) {
+            if (!previous.containsKey(entry.getKey()) || !Objects.equals(previous.get(entry.getKey()), entry.getValue())) {
+                affected.add(entry.getKey());
+            }
+        }
+        for (final String name : previous.keySet()) {
+            if (!contents.containsKey(name)) {
+                affected.add(name);
+            }
+        }
+
+        final Map<String, Object> changes = new HashMap<>();
+        final Set<String> removed = new HashSet<>();
+        for (final String name : affected) {
+            if (this.isOverridden(name, layer)) {
+                continue;
+            }
+            int source = layer;
+            while (source >= 0 && !this.layers.get(source).containsKey(name)) {
+                source--;
+            }
+            if (source >= 0) {
+                changes.put(name, this.layers.get(source).get(name));
+            }
+            else if (this.defaults.containsKey(name)) {
+                // Removing a bound property would detach its field from the Configuration
+                changes.put(name, this.defaults.get(name));
+            }
+            else {
+                removed.add(name);
+            }
+        }
+        return (changes.isEmpty() && removed.isEmpty()) ? 0 : this.configuration.apply(changes, removed);
+    }
+
+    private boolean isOverridden(final String name, final int layer) {
+        for (int above = layer + 1; above < this.layers.size(); above++) {
+            if (this.layers.get(above).containsKey(name)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,96 @@
+package com.configurable;
+
+/**
+ *  A Json array decoded from its text when first accessed. Decoding covers this level only: nested objects and arrays
+ *  remain views over the same text. Once decoded, the list behaves as the {@link PersistentVector} it decoded to.
+ */
+final class LazyList extends PersistentVector<Object> {
+
+    /**
+     *  The source text, released once decoded so a decoded view does not keep the whole text alive. Written after the
+     *  decoded list is published, so a reader finding it null also finds the decoded list.
+     */
+    private volatile String text;
+    private final int start;
+    private final int end;
+    private volatile PersistentVector<Object> list;
+
+    LazyList(final String text, final int start, final int end) {
+        super(0, 0, null, null);
+        this.text = text;
+        this.start = start;
+        this.end = end;
+    }
+
+    /**
+     * @return Whether this list has been decoded
+     */
+    boolean isDecoded() {
+        return this.list != null;
+    }
+
+    /**
+     *  Returns the elements of this list without keeping them, if it has not been decoded yet
+     *
+     * @return The decoded elements, or a transient decoding of them
+     */
+    PersistentVector<Object> peek() {
+        final PersistentVector<Object> list = this.list;
+        return (list != null) ? list : this.decode();
+    }
+
+    @Override
+    PersistentVector<Object> resolve() {
+        PersistentVector<Object> list = this.list;
+        if (list == null) {
+            synchronized (this) {
+                list = this.list;
+                if (list == null) {
+                    list = this.decode();
+                    this.list = list;
+                    this.text = null;
+                }
+            }
+        }
+        return list;
+    }
+
+    private PersistentVector<Object> decode() {
+        final String text = this.text;
+        if (text == null) {
+            return this.list;
+        }
+        PersistentVector<Object> list = PersistentVector.empty();
+        int index = this.start + 1;
+        while (text.charAt(index) != ']') {
+            final int valueEnd = JsonText.skip(text, index);
+            list = list.plus(JsonText.decode(text, index, valueEnd));
+            index = (text.charAt(valueEnd) == ',') ? valueEnd + 1 : valueEnd;
+        }
+        return list;
+    }
+
+    /**
+     *  Compares the text first when neither list has been decoded, so an unchanged array is recognized on reload
+     *  without being decoded
+     */
+    @Override
+    public boolean equals(final Object object) {
+        if (object instanceof LazyList && !this.isDecoded() && !((LazyList) object).isDecoded()) {
+            final LazyList other = (LazyList) object;
+            final String text = this.text;
+            final String otherText = other.text;
+            final int length = this.end - this.start;
+            if (text != null && otherText != null && length == other.end - other.start
+                    && text.regionMatches(this.start, otherText, other.start, length)) {
+                return true;
+            }
+        }
+        return super.equals(object);
+    }
+
+    @Override
+    public int hashCode() {
+        return super.hashCode();
+    }
+}
@@ -0,0 +1,98 @@
+package com.configurable;
+
+/**
+ *  A Json object decoded from its text when first accessed. Decoding covers this level only: nested objects and arrays
+ *  remain views over the same text. Once decoded, the map behaves as the {@link PersistentMap} it decoded to.
+ */
+final class LazyMap extends PersistentMap<String, Object> {
+
+    /**
+     *  The source text, released once decoded so a decoded view does not keep the whole text alive. Written after the
+     *  decoded map is published, so a reader finding it null also finds the decoded map.
+     */
+    private volatile String text;
+    private final int start;
+    private final int end;
+    private volatile PersistentMap<String, Object> map;
+
+    LazyMap(final String text, final int start, final int end) {
+        super(null, 0);
+        this.text = text;
+        this.start = start;
+        this.end = end;
+    }
+
+    /**
+     * @return Whether this map has been decoded
+     */
+    boolean isDecoded() {
+        return this.map != null;
+    }
+
+    /**
+     *  Returns the entries of this map without keeping them, if it has not been decoded yet
+     *
+     * @return The decoded entries, or a transient decoding of them
+     */
+    PersistentMap<String, Object> peek() {
+        final PersistentMap<String, Object> map = this.map;
+        return (map != null) ? map : this.decode();
+    }
+
+    @Override
+    PersistentMap<String, Object> resolve() {
+        PersistentMap<String, Object> map = this.map;
+        if (map == null) {
+            synchronized (this) {
+                map = this.map;
+                if (map == null) {
+                    map = this.decode();
+                    this.map = map;
+                    this.text = null;
+                }
+            }
+        }
+        return map;
+    }
+
+    private PersistentMap<String, Object> decode() {
+        final String text = this.text;
+        if (text == null) {
+            return this.map;
+        }
+        PersistentMap<String, Object> map = PersistentMap.empty();
+        int index = this.start + 1;
+        while (text.charAt(index) != '}') {
+            final int keyEnd = JsonText.skip(text, index);
+            final String key = JsonText.decodeString(text, index, keyEnd);
+            final int valueEnd = JsonText.skip(text, keyEnd + 1);
+            map = map.with(key, JsonText.decode(text, keyEnd + 1, valueEnd));
+            index = (text.charAt(valueEnd) == ',') ? valueEnd + 1 : valueEnd;
+        }
+        return map;
+    }
+
+    /**
+     *  Compares the text first when neither map has been decoded, so an unchanged object is recognized on reload
+     *  without being decoded
+     */
+    @Override
+    public boolean equals(final Object object) {
+        if (object instanceof LazyMap && !this.isDecoded() && !((LazyMap) object).isDecoded()) {
+            final LazyMap other = (LazyMap) object;
+            final String text = this.text;
+            final String otherText = other.text;
+            final int length = this.end - this.start;
+            if (text != null && otherText != null && length == other.end - other.start
+                    && text.regionMatches(this.start, otherText, other.start, length)) {
+                return true;
+            }
+        }
+        return super.equals(object);
+    }
+
+    @Override
+    public int hashCode() {
+        return super.hashCode();
+    }
+}
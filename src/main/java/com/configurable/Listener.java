@@ -0,0 +1,18 @@
+package com.configurable;
+
+/**
+ *  Receives changes to a {@link Value}
+ *
+ * @param <A> The Type of the observed value
+ */
+@FunctionalInterface
+public interface Listener<A> {
+
+    /**
+     *  Called after the observed value has changed
+     *
+     * @param oldValue The previous value
+     * @param newValue The new value
+     */
+    void changed(final A oldValue, final A newValue);
+}
@@ -0,0 +1,100 @@
+package com.configurable;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ *  A {@link Store} guarding a single {@link HashMap} with a {@link ReentrantReadWriteLock}
+ */
+final class LockingStore extends Store {
+
+    private final ReadWriteLock synchronization = new ReentrantReadWriteLock();
+    private final Map<String, Value<Object>> properties = new HashMap<>();
+
+    @Override
+    Value<Object> get(final String property) {
+        final Lock synchronization = this.synchronization.readLock();
+        synchronization.lock();
+        try {
+            return this.properties.get(property);
+        }
+        finally {
+            synchronization.unlock();
+        }
+    }
+
+    @Override
+    Value<Object> computeIfAbsent(final String property) {
+        final Lock synchronization = this.synchronization.writeLock();
+        synchronization.lock();
+        try {
+            final int size = this.properties.size();
+            final Value<Object> reference = this.properties.computeIfAbsent(property, string -> Value.to(null));
+            if (this.properties.size() != size) {
+                this.modified();
+            }
+            return reference;
+        }
+        finally {
+            synchronization.unlock();
+        }
+    }
+
+    @Override
+    Value<Object> remove(final String property) {
+        final Lock synchronization = this.synchronization.writeLock();
+        synchronization.lock();
+        try {
+            final Value<Object> reference = this.properties.remove(property);
+            if (reference != null) {
+                this.modified();
+            }
+            return reference;
+        }
+        finally {
+            synchronization.unlock();
+        }
+    }
+
+    @Override
+    void update(final Consumer<Map<String, Value<Object>>> function) {
+        final Lock synchronization = this.synchronization.writeLock();
+        synchronization.lock();
+        try {
+            function.accept(this.properties);
+            this.modified();
+        }
+        finally {
+            synchronization.unlock();
+        }
+    }
+
+    @Override
+    <A> A read(final Function<Map<String, Value<Object>>, A> function) {
+        final Lock synchronization = this.synchronization.readLock();
+        synchronization.lock();
+        try {
+            return function.apply(this.properties);
+        }
+        finally {
+            synchronization.unlock();
+        }
+    }
+
+    @Override
+    Map<String, Value<Object>> snapshot() {
+        final Lock synchronization = this.synchronization.readLock();
+        synchronization.lock();
+        try {
+            return new HashMap<>(this.properties);
+        }
+        finally {
+            synchronization.unlock();
+        }
+    }
+}
@@ -0,0 +1,182 @@
+package com.configurable;
+
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
+import java.util.function.LongBinaryOperator;
+import java.util.function.LongUnaryOperator;
+import java.util.logging.Logger;
+
+/**
+ *  A {@link Value} holding a long without boxing. Reading through {@link #getAsLong()} and writing through
+ *  {@link #setAsLong(long)} never allocate.
+ *
+ *  Assigning (null), for instance from a Json null, resets this value to the long it was created with. Values loaded
+ *  by a Configuration are coerced to long when this is exact, and values which cannot be are ignored.
+ */
+public class LongValue extends Value<Long> {
+    private static final Logger LOG = Logger.getLogger("Configurable");
+
+    private static final AtomicLongFieldUpdater<LongValue> VALUE = AtomicLongFieldUpdater.newUpdater(LongValue.class, "value");
+
+    private final long initialValue;
+    private volatile long value;
+
+    protected LongValue(final long value) {
+        this(value, Memory.RELEASE);
+    }
+
+    protected LongValue(final long value, final Memory memory) {
+        super(null, memory);
+        this.initialValue = value;
+        this.value = value;
+    }
+
+    /**
+     *  Returns the backing value without boxing
+     *
+     * @return The backing value
+     */
+    public long getAsLong() {
+        return this.value;
+    }
+
+    /**
+     *  Sets the value for this Configuration property without boxing.
+     *  This change will propagate to the backing Configuration object.
+     *
+     * @param value The new value
+     * @return The old value
+     */
+    public long setAsLong(final long value) {
+        final long oldValue = VALUE.getAndSet(this, value);
+        if (oldValue != value && this.isObserved()) {
+            this.changed(oldValue, value);
+        }
+        return oldValue;
+    }
+
+    /**
+     *  Atomically sets this value to the specified update if it currently holds the expected value, without boxing
+     *
+     * @param expect The expected value
+     * @param update The new value
+     * @return true if the value was set, false if it did not hold the expected value
+     */
+    public boolean compareAndSetAsLong(final long expect, final long update) {
+        if (!VALUE.compareAndSet(this, expect, update)) {
+            return false;
+        }
+        if (expect != update && this.isObserved()) {
+            this.changed(expect, update);
+        }
+        return true;
+    }
+
+    /**
+     *  Atomically replaces this value with the result of the specified function without boxing, see
+     *  {@link #getAndUpdate(java.util.function.UnaryOperator)}
+     *
+     * @param function The update function
+     * @return The old value
+     */
+    public long getAndUpdateAsLong(final LongUnaryOperator function) {
+        long oldValue;
+        long newValue;
+        do {
+            oldValue = this.value;
+            newValue = function.applyAsLong(oldValue);
+        }
+        while (!VALUE.compareAndSet(this, oldValue, newValue));
+        if (oldValue != newValue && this.isObserved()) {
+            this.changed(oldValue, newValue);
+        }
+        return oldValue;
+    }
+
+    /**
+     *  Atomically replaces this value with the result of the specified function without boxing, see
+     *  {@link #updateAndGet(java.util.function.UnaryOperator)}
+     *
+     * @param function The update function
+     * @return The new value
+     */
+    public long updateAndGetAsLong(final LongUnaryOperator function) {
+        long oldValue;
+        long newValue;
+        do {
+            oldValue = this.value;
+            newValue = function.applyAsLong(oldValue);
+        }
+        while (!VALUE.compareAndSet(this, oldValue, newValue));
+        if (oldValue != newValue && this.isObserved()) {
+            this.changed(oldValue, newValue);
+        }
+        return newValue;
+    }
+
+    /**
+     *  Atomically replaces this value with the result of the specified function applied to the current value and the
+     *  specified argument without boxing, see {@link #accumulateAndGet(Object, java.util.function.BinaryOperator)}
+     *
+     * @param value The second argument of the function
+     * @param function The accumulator function
+     * @return The new value
+     */
+    public long accumulateAndGetAsLong(final long value, final LongBinaryOperator function) {
+        return this.updateAndGetAsLong(current -> function.applyAsLong(current, value));
+    }
+
+    private void write(final long value) {
+        if (this.getMemory() == Memory.VOLATILE) {
+            this.value = value;
+        }
+        else {
+            VALUE.lazySet(this, value);
+        }
+    }
+
+    @Override
+    Long load() {
+        return this.getAsLong();
+    }
+
+    @Override
+    void store(final Long value) {
+        this.write((value != null) ? value : this.initialValue);
+    }
+
+    @Override
+    Long swap(final Long value) {
+        return VALUE.getAndSet(this, value);
+    }
+
+    @Override
+    boolean cas(final Long expect, final Long update) {
+        return (expect != null) && VALUE.compareAndSet(this, expect, this.normalize(update));
+    }
+
+    @Override
+    Long normalize(final Long value) {
+        return (value != null) ? value : this.initialValue;
+    }
+
+    @Override
+    Object assign(final Object value) {
+        if (value == null) {
+            return this.set(null);
+        }
+        final Long coerced = Json.asLong(value);
+        if (coerced == null) {
+            LOG.warning("Unable to assign " + value + " to " + this);
+            return this.getAsLong();
+        }
+        return this.setAsLong(coerced);
+    }
+
+    public static LongValue to(final long value) {
+        return new LongValue(value);
+    }
+
+    public static LongValue to(final long value, final Memory memory) {
+        return new LongValue(value, memory);
+    }
+}
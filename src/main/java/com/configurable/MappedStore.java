@@ -0,0 +1,164 @@
+package com.configurable;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.logging.Logger;
+
+/**
+ *  A read-only {@link Store} over a memory mapped snapshot file, see {@link Configuration#map(java.io.File)}.
+ *
+ *  Nothing is decoded up front: every lookup goes through the hash index of the file and decodes the one value found
+ *  straight from the mapping. As the mapping is backed by the page cache, processes mapping the same file share a single
+ *  copy of it. The file is updated by atomically replacing it and calling {@link #remap()}, which swaps the mapping
+ *  without blocking readers. Lookups returning Values hand out detached copies, except for Values with subscribers,
+ *  which are kept and updated on each remap.
+ */
+final class MappedStore extends Store {
+    private static final Logger LOG = Logger.getLogger("Configurable");
+
+    private final Path path;
+    private final Map<String, Value<Object>> pinned = new ConcurrentHashMap<>();
+    private final Map<String, Value<Object>> view = new MappedMap();
+    private volatile Snapshot.Index index;
+
+    MappedStore(final Path path) throws IOException {
+        this.path = path;
+        this.index = map(path);
+    }
+
+    private static Snapshot.Index map(final Path path) throws IOException {
+        try (final FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            final long size = channel.size();
+            if (size > Integer.MAX_VALUE) {
+                throw new IOException("Snapshot is too large to map");
+            }
+            return new Snapshot.Index(channel.map(FileChannel.MapMode.READ_ONLY, 0, size));
+        }
+    }
+
+    /**
+     *  Maps the file again, after it was replaced. Lookups in progress complete against the previous mapping, which is
+     *  released once no longer referenced. Values with subscribers are updated to the new contents.
+     *
+     * @return The number of Values with subscribers which changed
+     * @throws IOException If the file cannot be mapped, in which case the previous mapping remains in use
+     */
+    synchronized int remap() throws IOException {
+        final Snapshot.Index index = map(this.path);
+        final Map<Value<Object>, Object> changes = new HashMap<>();
+        for (final Map.Entry<String, Value<Object>> entry : this.pinned.entrySet()) {
+            final Object value = index.get(entry.getKey());
+            if (!Objects.equals(entry.getValue().get(), value)) {
+                changes.put(entry.getValue(), value);
+            }
+        }
+        this.index = index;
+        this.modified();
+        Batch.run(() -> changes.forEach(Value::assign));
+        return changes.size();
+    }
+
+    @Override
+    Object load(final String property) {
+        try {
+            return this.index.get(property);
+        }
+        catch (final IOException exception) {
+            LOG.severe("Unable to read " + property + " from " + this.path + ": " + exception.getMessage());
+            return null;
+        }
+    }
+
+    @Override
+    Value<Object> get(final String property) {
+        final Snapshot.Index index = this.index;
+        try {
+            if (!index.contains(property)) {
+                return null;
+            }
+            final Value<Object> reference = this.pinned.get(property);
+            return (reference != null) ? reference : Value.to(index.get(property));
+        }
+        catch (final IOException exception) {
+            LOG.severe("Unable to read " + property + " from " + this.path + ": " + exception.getMessage());
+            return null;
+        }
+    }
+
+    @Override
+    Value<Object> computeIfAbsent(final String property) {
+        throw new UnsupportedOperationException("Mapped configurations are read-only");
+    }
+
+    /**
+     *  Returns a Value kept for the specified property, so its subscribers are notified when a remap changes it. The
+     *  property need not exist yet, in which case the Value holds (null) and lookups still find no such property. Pins
+     *  are serialized with {@link #remap()}, so a new Value is always loaded from the mapping remaps compare against.
+     */
+    @Override
+    synchronized Value<Object> pin(final String property) {
+        return this.pinned.computeIfAbsent(property, name -> Value.to(this.load(name)));
+    }
+
+    @Override
+    Value<Object> remove(final String property) {
+        throw new UnsupportedOperationException("Mapped configurations are read-only");
+    }
+
+    /**
+     *  Runs the specified function over a read-only view of the properties
+     */
+    @Override
+    void update(final Consumer<Map<String, Value<Object>>> function) {
+        function.accept(this.view);
+    }
+
+    @Override
+    <A> A read(final Function<Map<String, Value<Object>>, A> function) {
+        return function.apply(this.view);
+    }
+
+    @Override
+    Map<String, Value<Object>> snapshot() {
+        final Map<String, Value<Object>> snapshot = new HashMap<>();
+        try {
+            this.index.forEach((name, value) -> snapshot.put(name, Value.to(value)));
+        }
+        catch (final IOException exception) {
+            LOG.severe("Unable to read " + this.path + ": " + exception.getMessage());
+        }
+        return snapshot;
+    }
+
+    /**
+     *  The properties as seen by {@link #update(Consumer)} and {@link #read(Function)}, decoded on access
+     */
+    private final class MappedMap extends AbstractMap<String, Value<Object>> {
+
+        @Override
+        public int size() {
+            return MappedStore.this.index.size();
+        }
+
+        @Override
+        public boolean containsKey(final Object key) {
+            return (key instanceof String) && MappedStore.this.get((String) key) != null;
+        }
+
+        @Override
+        public Value<Object> get(final Object key) {
+            return (key instanceof String) ? MappedStore.this.get((String) key) : null;
+        }
+
+        @Override
+        public Set<Entry<String, Value<Object>>> entrySet() {
+            return Collections.unmodifiableMap(MappedStore.this.snapshot()).entrySet();
+        }
+    }
+}
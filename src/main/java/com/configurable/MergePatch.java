@@ -0,0 +1,146 @@
+package com.configurable;
+
+import com.google.gson.*;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ *  Computes and applies Json merge patches as defined by RFC 7386. In a patch, an object is merged into the object it
+ *  targets, (null) removes the member it names, and any other value replaces the target. Arrays are always replaced as
+ *  a whole, and (null) values cannot be expressed.
+ */
+final class MergePatch {
+
+    private MergePatch() {
+
+    }
+
+    /**
+     *  Computes the patch turning the specified source object into the specified target object. Members with equal
+     *  values are left out, and members which are objects on both sides are diffed recursively.
+     *
+     * @param source The object before
+     * @param target The object after
+     * @return The patch, empty if the objects are equal
+     */
+    static JsonObject diff(final Map<?, ?> source, final Map<?, ?> target) {
+        final JsonObject patch = new JsonObject();
+        for (final Map.Entry<?, ?> entry : source.entrySet()) {
+            if (!target.containsKey(entry.getKey())) {
+                patch.add(String.valueOf(entry.getKey()), JsonNull.INSTANCE);
+            }
+        }
+        for (final Map.Entry<?, ?> entry : target.entrySet()) {
+            final Object before = source.get(entry.getKey());
+            final Object after = entry.getValue();
+            if (source.containsKey(entry.getKey()) && Objects.equals(before, after)) {
+                continue;
+            }
+            final String name = String.valueOf(entry.getKey());
+            if (before instanceof Map && after instanceof Map) {
+                patch.add(name, diff((Map<?, ?>) before, (Map<?, ?>) after));
+            }
+            else {
+                patch.add(name, toElement(after));
+            }
+        }
+        return patch;
+    }
+
+    /**
+     *  Applies the specified patch to the specified value. Objects are updated through {@link PersistentMap#with} and
+     *  {@link PersistentMap#without}, sharing every part the patch leaves unchanged, and a patch changing nothing returns
+     *  the target itself when it is a {@link PersistentMap}.
+     *
+     * @param target The value to patch, which is replaced by an empty object unless it is one
+     * @param patch The patch
+     * @return The patched value
+     */
+    static PersistentMap<String, Object> apply(final Object target, final JsonObject patch) {
+        PersistentMap<String, Object> result = (target instanceof Map) ? PersistentMap.of(asStringMap((Map<?, ?>) target)) : PersistentMap.empty();
+        for (final Map.Entry<String, JsonElement> entry : patch.entrySet()) {
+            final String name = entry.getKey();
+            final JsonElement element = entry.getValue();
+            if (element.isJsonNull()) {
+                result = result.without(name);
+                continue;
+            }
+            final Object before = result.get(name);
+            final Object after = element.isJsonObject() ? apply(before, element.getAsJsonObject()) : fromElement(element);
+            if (before != after && !(result.containsKey(name) && Objects.equals(before, after))) {
+                result = result.with(name, after);
+            }
+        }
+        return result;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, Object> asStringMap(final Map<?, ?> map) {
+        return (Map<String, Object>) map;
+    }
+
+    /**
+     *  Converts a property value into a Json element. Values of unsupported types are converted to their string
+     *  representation, as in {@link Json#write}.
+     */
+    static JsonElement toElement(final Object value) {
+        if (value == null) {
+            return JsonNull.INSTANCE;
+        }
+        if (value instanceof Boolean) {
+            return new JsonPrimitive((Boolean) value);
+        }
+        if (value instanceof Number) {
+            return new JsonPrimitive((Number) value);
+        }
+        if (value instanceof Map) {
+            final JsonObject object = new JsonObject();
+            for (final Map.Entry<?, ?> entry : ((Map<?, ?>) value).entrySet()) {
+                object.add(String.valueOf(entry.getKey()), toElement(entry.getValue()));
+            }
+            return object;
+        }
+        if (value instanceof List) {
+            final JsonArray array = new JsonArray();
+            for (final Object element : (List<?>) value) {
+                array.add(toElement(element));
+            }
+            return array;
+        }
+        return new JsonPrimitive(value.toString());
+    }
+
+    /**
+     *  Converts a Json element into a property value, with objects and arrays as a {@link PersistentMap} and a
+     *  {@link PersistentVector} and numbers in their narrowest exact type
+     */
+    static Object fromElement(final JsonElement element) {
+        if (element == null || element.isJsonNull()) {
+            return null;
+        }
+        if (element.isJsonObject()) {
+            PersistentMap<String, Object> map = PersistentMap.empty();
+            for (final Map.Entry<String, JsonElement> entry : element.getAsJsonObject().entrySet()) {
+                map = map.with(entry.getKey(), fromElement(entry.getValue()));
+            }
+            return map;
+        }
+        if (element.isJsonArray()) {
+            PersistentVector<Object> list = PersistentVector.empty();
+            for (final JsonElement child : element.getAsJsonArray()) {
+                list = list.plus(fromElement(child));
+            }
+            return list;
+        }
+        final JsonPrimitive primitive = element.getAsJsonPrimitive();
+        if (primitive.isBoolean()) {
+            return primitive.getAsBoolean();
+        }
+        if (primitive.isNumber()) {
+            return Json.asNumber(primitive.getAsNumber());
+        }
+        return primitive.getAsString();
+    }
+}
@@ -0,0 +1,192 @@
+package com.configurable;
+
+import java.lang.annotation.Annotation;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.UndeclaredThrowableException;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ *  The {@link Property} fields of a {@link Configuration} subclass, together with their names and {@link Hidden} flags.
+ *  The fields are resolved once per class, through its generated {@link Binder} when there is one and through a
+ *  reflective scan otherwise, and the result is shared by every instance of it.
+ */
+final class Metadata {
+
+    private static final ClassValue<Metadata> METADATA = new ClassValue<Metadata>() {
+        @Override
+        protected Metadata computeValue(final Class<?> type) {
+            return new Metadata(type);
+        }
+    };
+
+    private final List<Entry> entries;
+
+    private Metadata(final Class<?> type) {
+        final List<Entry> entries = new ArrayList<>();
+        final Binder<?> binder = Binder.find(type);
+        if (binder != null) {
+            for (int index = 0; index < binder.size(); index++) {
+                entries.add(new Entry(new BinderGetter(binder, index), binder.getName(index), binder.isHidden(index)));
+            }
+        }
+        else {
+            for (final Field field : getDeclaredFields(type)) {
+                final Configuration.Status status = getStatus(field);
+                if (status.isValid()) {
+                    entries.add(new Entry(new FieldGetter(field), field.getAnnotation(Property.class).value(), status == Configuration.Status.HIDDEN));
+                }
+            }
+        }
+        this.entries = Collections.unmodifiableList(entries);
+    }
+
+    /**
+     *  Returns the property fields of this class, subclass fields first, in declaration order
+     *
+     * @return The property fields
+     */
+    List<Entry> getEntries() {
+        return this.entries;
+    }
+
+    static Metadata of(final Class<? extends Configuration> type) {
+        return METADATA.get(type);
+    }
+
+    private static List<Field> getDeclaredFields(final Class<?> clazz) {
+        final List<Field> fields = new ArrayList<>();
+        for (Class<?> clazz0 = clazz; clazz0 != null; clazz0 = clazz0.getSuperclass()) {
+            fields.addAll(Arrays.asList(clazz0.getDeclaredFields()));
+        }
+        return fields;
+    }
+
+    private static List<Annotation> getAnnotations(final Field field) {
+        final Annotation[] annotations = field.getDeclaredAnnotations();
+        return (annotations != null) ? Arrays.asList(annotations) : Collections.emptyList();
+    }
+
+    /**
+     *  Classifies the specified field from its declaration alone. A field which is valid here may still have a (null)
+     *  value on a given instance.
+     *
+     * @param field The field
+     * @return The status of the field
+     */
+    static Configuration.Status getStatus(final Field field) {
+        if (field == null) {
+            return Configuration.Status.OTHER;
+        }
+        final List<Annotation> annotations = getAnnotations(field);
+        if (annotations.stream().noneMatch(annotation -> annotation instanceof Property)) {
+            return Configuration.Status.NONE;
+        }
+        if (Modifier.isStatic(field.getModifiers())) {
+            return Configuration.Status.STATIC;
+        }
+        if (!Modifier.isFinal(field.getModifiers())) {
+            return Configuration.Status.ASSIGNABLE;
+        }
+        if (!Value.class.isAssignableFrom(field.getType())) {
+            return Configuration.Status.WRONG_TYPE;
+        }
+        final boolean isHidden = annotations.stream().anyMatch(annotation -> annotation instanceof Hidden);
+        return (isHidden) ? Configuration.Status.HIDDEN : Configuration.Status.VALID;
+    }
+
+    /**
+     *  A single {@link Property} field
+     */
+    static final class Entry {
+        private final Function<Configuration, Value<Object>> getter;
+        private final String name;
+        private final boolean hidden;
+
+        private Entry(final Function<Configuration, Value<Object>> getter, final String name, final boolean hidden) {
+            this.getter = getter;
+            this.name = name;
+            this.hidden = hidden;
+        }
+
+        String getName() {
+            return this.name;
+        }
+
+        boolean isHidden() {
+            return this.hidden;
+        }
+
+        /**
+         *  Returns the Value held by this field on the specified instance
+         *
+         * @param configuration The instance to read the field of
+         * @return The Value, or null if the field holds (null)
+         */
+        Value<Object> getValue(final Configuration configuration) {
+            return this.getter.apply(configuration);
+        }
+    }
+
+    /**
+     *  Reads a property field through a getter created once per field and adapted to {@code (Configuration) -> Value},
+     *  so it is invoked exactly, without the access checks of {@link Field#get(Object)}. The handle is held in an
+     *  instance field, which the JIT does not treat as a constant, so each read is still an indirect call. Fields are
+     *  only read when an instance is bound, and classes needing more are bound through a generated {@link Binder},
+     *  which reads them directly.
+     */
+    private static final class FieldGetter implements Function<Configuration, Value<Object>> {
+        private final MethodHandle getter;
+
+        private FieldGetter(final Field field) {
+            field.setAccessible(true);
+            try {
+                this.getter = MethodHandles.lookup().unreflectGetter(field)
+                        .asType(MethodType.methodType(Value.class, Configuration.class))
+                ;
+            }
+            catch (final IllegalAccessException exception) {
+                throw new IllegalStateException("Unable to access " + field.getDeclaringClass().getName() + "." + field.getName(), exception);
+            }
+        }
+
+        @Override
+        public Value<Object> apply(final Configuration configuration) {
+            try {
+                return (Value<Object>) (Value) this.getter.invokeExact(configuration);
+            }
+            catch (final RuntimeException | Error exception) {
+                throw exception;
+            }
+            catch (final Throwable throwable) {
+                // A field getter throws no checked exception
+                throw new UndeclaredThrowableException(throwable);
+            }
+        }
+    }
+
+    /**
+     *  Reads a property field through a generated {@link Binder}
+     */
+    private static final class BinderGetter implements Function<Configuration, Value<Object>> {
+        private final Binder<?> binder;
+        private final int index;
+
+        private BinderGetter(final Binder<?> binder, final int index) {
+            this.binder = binder;
+            this.index = index;
+        }
+
+        @Override
+        public Value<Object> apply(final Configuration configuration) {
+            return this.binder.getValue(configuration, this.index);
+        }
+    }
+}
@@ -0,0 +1,365 @@
+package com.configurable;
+
+import java.util.*;
+
+/**
+ *  An immutable map supporting updates by structural sharing, used for nested Json objects. It is a hash array mapped
+ *  trie: each node branches on 5 bits of the key hash, so {@link #with(Object, Object)} and {@link #without(Object)}
+ *  copy only the O(log n) nodes on the path to the key, and share all others with the original map.
+ *
+ *  Nodes keep their entries before their child nodes in a single array, indexed by two bitmaps. Keys whose hashes are
+ *  equal in all 32 bits share a collision node holding them in a list.
+ *
+ * @param <K> The type of keys
+ * @param <V> The type of values
+ */
+public class PersistentMap<K, V> extends AbstractMap<K, V> {
+
+    private static final int BITS = 5;
+    private static final int HASH_BITS = 32;
+    private static final Object NOT_FOUND = new Object();
+    private static final PersistentMap<?, ?> EMPTY = new PersistentMap<>(new Node(0, 0, new Object[0]), 0);
+
+    private final Node root;
+    private final int size;
+
+    PersistentMap(final Node root, final int size) {
+        this.root = root;
+        this.size = size;
+    }
+
+    /**
+     *  Returns the empty map
+     *
+     * @param <K> The type of keys
+     * @param <V> The type of values
+     * @return The empty map
+     */
+    @SuppressWarnings("unchecked")
+    public static <K, V> PersistentMap<K, V> empty() {
+        return (PersistentMap<K, V>) EMPTY;
+    }
+
+    /**
+     *  Returns a map with the entries of the specified map
+     *
+     * @param map The entries
+     * @param <K> The type of keys
+     * @param <V> The type of values
+     * @return A map with the same entries
+     */
+    @SuppressWarnings("unchecked")
+    public static <K, V> PersistentMap<K, V> of(final Map<? extends K, ? extends V> map) {
+        if (map instanceof PersistentMap) {
+            return (PersistentMap<K, V>) map;
+        }
+        PersistentMap<K, V> result = empty();
+        for (final Map.Entry<? extends K, ? extends V> entry : map.entrySet()) {
+            result = result.with(entry.getKey(), entry.getValue());
+        }
+        return result;
+    }
+
+    /**
+     *  Returns the map holding the entries, which is this map unless entries are decoded lazily
+     */
+    PersistentMap<K, V> resolve() {
+        return this;
+    }
+
+    /**
+     *  Returns a map with the specified entry added or replaced
+     *
+     * @param key The key
+     * @param value The value
+     * @return The updated map, or this map if it already holds the entry
+     */
+    public PersistentMap<K, V> with(final K key, final V value) {
+        final PersistentMap<K, V> map = this.resolve();
+        final boolean[] added = new boolean[1];
+        final Node root = map.root.with(key, value, hash(key), 0, added);
+        return (root == map.root) ? map : new PersistentMap<>(root, added[0] ? map.size + 1 : map.size);
+    }
+
+    /**
+     *  Returns a map with the specified key removed
+     *
+     * @param key The key
+     * @return The updated map, or this map if it does not hold the key
+     */
+    public PersistentMap<K, V> without(final Object key) {
+        final PersistentMap<K, V> map = this.resolve();
+        final Node root = map.root.without(key, hash(key), 0);
+        return (root == map.root) ? map : new PersistentMap<>(root, map.size - 1);
+    }
+
+    @Override
+    public int size() {
+        return this.resolve().size;
+    }
+
+    @Override
+    public boolean containsKey(final Object key) {
+        return this.resolve().root.find(key, hash(key), 0) != NOT_FOUND;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public V get(final Object key) {
+        final Object value = this.resolve().root.find(key, hash(key), 0);
+        return (value != NOT_FOUND) ? (V) value : null;
+    }
+
+    @Override
+    public Set<Entry<K, V>> entrySet() {
+        final PersistentMap<K, V> map = this.resolve();
+        return new AbstractSet<Entry<K, V>>() {
+            @Override
+            public int size() {
+                return map.size;
+            }
+
+            @Override
+            public Iterator<Entry<K, V>> iterator() {
+                return new EntryIterator<>(map.root);
+            }
+        };
+    }
+
+    private static int hash(final Object key) {
+        final int hash = Objects.hashCode(key);
+        return hash ^ (hash >>> 16);
+    }
+
+    /**
+     *  A trie node. Entries occupy the start of the array as key/value pairs in the order of the data bitmap, child
+     *  nodes the end of the array in reverse order of the node bitmap. A collision node has neither bitmap set and
+     *  holds only entries.
+     */
+    static final class Node {
+        private final int dataMap;
+        private final int nodeMap;
+        private final Object[] array;
+
+        private Node(final int dataMap, final int nodeMap, final Object[] array) {
+            this.dataMap = dataMap;
+            this.nodeMap = nodeMap;
+            this.array = array;
+        }
+
+        private int entries() {
+            return (this.dataMap == 0 && this.nodeMap == 0) ? this.array.length / 2 : Integer.bitCount(this.dataMap);
+        }
+
+        private int nodes() {
+            return Integer.bitCount(this.nodeMap);
+        }
+
+        private Node node(final int index) {
+            return (Node) this.array[this.array.length - 1 - index];
+        }
+
+        private boolean isSingleEntry() {
+            return this.nodeMap == 0 && this.array.length == 2;
+        }
+
+        private Object find(final Object key, final int hash, final int shift) {
+            if (shift >= HASH_BITS) {
+                for (int index = 0; index < this.array.length; index += 2) {
+                    if (Objects.equals(this.array[index], key)) {
+                        return this.array[index + 1];
+                    }
+                }
+                return NOT_FOUND;
+            }
+            final int bit = 1 << ((hash >>> shift) & 31);
+            if ((this.dataMap & bit) != 0) {
+                final int index = 2 * Integer.bitCount(this.dataMap & (bit - 1));
+                return Objects.equals(this.array[index], key) ? this.array[index + 1] : NOT_FOUND;
+            }
+            if ((this.nodeMap & bit) != 0) {
+                return this.node(Integer.bitCount(this.nodeMap & (bit - 1))).find(key, hash, shift + BITS);
+            }
+            return NOT_FOUND;
+        }
+
+        private Node with(final Object key, final Object value, final int hash, final int shift, final boolean[] added) {
+            if (shift >= HASH_BITS) {
+                for (int index = 0; index < this.array.length; index += 2) {
+                    if (Objects.equals(this.array[index], key)) {
+                        if (this.array[index + 1] == value) {
+                            return this;
+                        }
+                        final Object[] array = this.array.clone();
+                        array[index + 1] = value;
+                        return new Node(0, 0, array);
+                    }
+                }
+                final Object[] array = Arrays.copyOf(this.array, this.array.length + 2);
+                array[this.array.length] = key;
+                array[this.array.length + 1] = value;
+                added[0] = true;
+                return new Node(0, 0, array);
+            }
+            final int bit = 1 << ((hash >>> shift) & 31);
+            if ((this.dataMap & bit) != 0) {
+                final int index = 2 * Integer.bitCount(this.dataMap & (bit - 1));
+                final Object existing = this.array[index];
+                if (Objects.equals(existing, key)) {
+                    if (this.array[index + 1] == value) {
+                        return this;
+                    }
+                    final Object[] array = this.array.clone();
+                    array[index + 1] = value;
+                    return new Node(this.dataMap, this.nodeMap, array);
+                }
+                final Node child = merge(existing, this.array[index + 1], hash(existing), key, value, hash, shift + BITS);
+                added[0] = true;
+                final int nodeIndex = this.array.length - 2 - Integer.bitCount(this.nodeMap & (bit - 1));
+                final Object[] array = new Object[this.array.length - 1];
+                System.arraycopy(this.array, 0, array, 0, index);
+                System.arraycopy(this.array, index + 2, array, index, nodeIndex - index);
+                array[nodeIndex] = child;
+                System.arraycopy(this.array, nodeIndex + 2, array, nodeIndex + 1, this.array.length - nodeIndex - 2);
+                return new Node(this.dataMap ^ bit, this.nodeMap | bit, array);
+            }
+            if ((this.nodeMap & bit) != 0) {
+                final int index = this.array.length - 1 - Integer.bitCount(this.nodeMap & (bit - 1));
+                final Node child = (Node) this.array[index];
+                final Node updated = child.with(key, value, hash, shift + BITS, added);
+                if (updated == child) {
+                    return this;
+                }
+                final Object[] array = this.array.clone();
+                array[index] = updated;
+                return new Node(this.dataMap, this.nodeMap, array);
+            }
+            final int index = 2 * Integer.bitCount(this.dataMap & (bit - 1));
+            final Object[] array = new Object[this.array.length + 2];
+            System.arraycopy(this.array, 0, array, 0, index);
+            array[index] = key;
+            array[index + 1] = value;
+            System.arraycopy(this.array, index, array, index + 2, this.array.length - index);
+            added[0] = true;
+            return new Node(this.dataMap | bit, this.nodeMap, array);
+        }
+
+        private static Node merge(final Object key0, final Object value0, final int hash0, final Object key1, final Object value1, final int hash1, final int shift) {
+            if (shift >= HASH_BITS) {
+                return new Node(0, 0, new Object[] { key0, value0, key1, value1 });
+            }
+            final int mask0 = (hash0 >>> shift) & 31;
+            final int mask1 = (hash1 >>> shift) & 31;
+            if (mask0 == mask1) {
+                return new Node(0, 1 << mask0, new Object[] { merge(key0, value0, hash0, key1, value1, hash1, shift + BITS) });
+            }
+            final Object[] array = (mask0 < mask1)
+                    ? new Object[] { key0, value0, key1, value1 }
+                    : new Object[] { key1, value1, key0, value0 }
+            ;
+            return new Node((1 << mask0) | (1 << mask1), 0, array);
+        }
+
+        private Node without(final Object key, final int hash, final int shift) {
+            if (shift >= HASH_BITS) {
+                for (int index = 0; index < this.array.length; index += 2) {
+                    if (Objects.equals(this.array[index], key)) {
+                        final Object[] array = new Object[this.array.length - 2];
+                        System.arraycopy(this.array, 0, array, 0, index);
+                        System.arraycopy(this.array, index + 2, array, index, this.array.length - index - 2);
+                        return new Node(0, 0, array);
+                    }
+                }
+                return this;
+            }
+            final int bit = 1 << ((hash >>> shift) & 31);
+            if ((this.dataMap & bit) != 0) {
+                final int index = 2 * Integer.bitCount(this.dataMap & (bit - 1));
+                if (!Objects.equals(this.array[index], key)) {
+                    return this;
+                }
+                final Object[] array = new Object[this.array.length - 2];
+                System.arraycopy(this.array, 0, array, 0, index);
+                System.arraycopy(this.array, index + 2, array, index, this.array.length - index - 2);
+                return new Node(this.dataMap ^ bit, this.nodeMap, array);
+            }
+            if ((this.nodeMap & bit) != 0) {
+                final int index = this.array.length - 1 - Integer.bitCount(this.nodeMap & (bit - 1));
+                final Node child = (Node) this.array[index];
+                final Node updated = child.without(key, hash, shift + BITS);
+                if (updated == child) {
+                    return this;
+                }
+                if (!updated.isSingleEntry()) {
+                    final Object[] array = this.array.clone();
+                    array[index] = updated;
+                    return new Node(this.dataMap, this.nodeMap, array);
+                }
+                if (this.array.length == 1 && shift > 0) {
+                    return updated;
+                }
+                final int dataIndex = 2 * Integer.bitCount(this.dataMap & (bit - 1));
+                final Object[] array = new Object[this.array.length + 1];
+                System.arraycopy(this.array, 0, array, 0, dataIndex);
+                array[dataIndex] = updated.array[0];
+                array[dataIndex + 1] = updated.array[1];
+                System.arraycopy(this.array, dataIndex, array, dataIndex + 2, index - dataIndex);
+                System.arraycopy(this.array, index + 1, array, index + 2, this.array.length - index - 1);
+                return new Node(this.dataMap | bit, this.nodeMap ^ bit, array);
+            }
+            return this;
+        }
+    }
+
+    /**
+     *  Visits the entries of each node before descending into its child nodes
+     */
+    private static final class EntryIterator<K, V> implements Iterator<Entry<K, V>> {
+        private final Node[] nodes = new Node[HASH_BITS / BITS + 2];
+        private final int[] entries = new int[HASH_BITS / BITS + 2];
+        private final int[] children = new int[HASH_BITS / BITS + 2];
+        private int depth = 0;
+
+        private EntryIterator(final Node root) {
+            this.nodes[0] = root;
+            this.advance();
+        }
+
+        private void advance() {
+            while (this.depth >= 0) {
+                final Node node = this.nodes[this.depth];
+                if (this.entries[this.depth] < node.entries()) {
+                    return;
+                }
+                if (this.children[this.depth] < node.nodes()) {
+                    final Node child = node.node(this.children[this.depth]++);
+                    this.depth++;
+                    this.nodes[this.depth] = child;
+                    this.entries[this.depth] = 0;
+                    this.children[this.depth] = 0;
+                }
+                else {
+                    this.depth--;
+                }
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            return this.depth >= 0;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public Entry<K, V> next() {
+            if (!this.hasNext()) {
+                throw new NoSuchElementException();
+            }
+            final Node node = this.nodes[this.depth];
+            final int index = 2 * this.entries[this.depth]++;
+            final Entry<K, V> entry = new SimpleImmutableEntry<>((K) node.array[index], (V) node.array[index + 1]);
+            this.advance();
+            return entry;
+        }
+    }
+}
@@ -0,0 +1,260 @@
+package com.configurable;
+
+import java.util.*;
+
+/**
+ *  An immutable list supporting updates by structural sharing, used for nested Json arrays. Elements are held in a
+ *  trie of 32 element arrays, so {@link #with(int, Object)} copies only the O(log n) arrays on the path to the element.
+ *  The last 32 elements are kept in a separate tail, which makes {@link #plus(Object)} and {@link #withoutLast()}
+ *  mostly a copy of the tail.
+ *
+ * @param <E> The type of elements
+ */
+public class PersistentVector<E> extends AbstractList<E> implements RandomAccess {
+
+    private static final int BITS = 5;
+    private static final int WIDTH = 1 << BITS;
+    private static final Object[] EMPTY_NODE = new Object[WIDTH];
+    private static final PersistentVector<?> EMPTY = new PersistentVector<>(0, BITS, EMPTY_NODE, new Object[0]);
+
+    private final int size;
+    private final int shift;
+    private final Object[] root;
+    private final Object[] tail;
+
+    PersistentVector(final int size, final int shift, final Object[] root, final Object[] tail) {
+        this.size = size;
+        this.shift = shift;
+        this.root = root;
+        this.tail = tail;
+    }
+
+    /**
+     *  Returns the empty vector
+     *
+     * @param <E> The type of elements
+     * @return The empty vector
+     */
+    @SuppressWarnings("unchecked")
+    public static <E> PersistentVector<E> empty() {
+        return (PersistentVector<E>) EMPTY;
+    }
+
+    /**
+     *  Returns a vector with the elements of the specified collection
+     *
+     * @param collection The elements
+     * @param <E> The type of elements
+     * @return A vector with the same elements, in iteration order
+     */
+    @SuppressWarnings("unchecked")
+    public static <E> PersistentVector<E> of(final Collection<? extends E> collection) {
+        if (collection instanceof PersistentVector) {
+            return (PersistentVector<E>) collection;
+        }
+        PersistentVector<E> result = empty();
+        for (final E element : collection) {
+            result = result.plus(element);
+        }
+        return result;
+    }
+
+    /**
+     *  Returns the vector holding the elements, which is this vector unless elements are decoded lazily
+     */
+    PersistentVector<E> resolve() {
+        return this;
+    }
+
+    /**
+     *  Returns a vector with the specified element appended
+     *
+     * @param element The element
+     * @return The updated vector
+     */
+    public PersistentVector<E> plus(final E element) {
+        final PersistentVector<E> vector = this.resolve();
+        final int size = vector.size;
+        if (size - vector.tailOffset() < WIDTH) {
+            final Object[] tail = Arrays.copyOf(vector.tail, vector.tail.length + 1);
+            tail[vector.tail.length] = element;
+            return new PersistentVector<>(size + 1, vector.shift, vector.root, tail);
+        }
+        final Object[] root;
+        int shift = vector.shift;
+        if ((size >>> BITS) > (1 << shift)) {
+            root = new Object[WIDTH];
+            root[0] = vector.root;
+            root[1] = newPath(shift, vector.tail);
+            shift += BITS;
+        }
+        else {
+            root = vector.pushTail(shift, vector.root, vector.tail);
+        }
+        return new PersistentVector<>(size + 1, shift, root, new Object[] { element });
+    }
+
+    /**
+     *  Returns a vector with the element at the specified index replaced, or appended if the index is the size
+     *
+     * @param index The index
+     * @param element The element
+     * @return The updated vector, or this vector if it already holds the element
+     * @throws IndexOutOfBoundsException If the index is negative or greater than the size
+     */
+    public PersistentVector<E> with(final int index, final E element) {
+        final PersistentVector<E> vector = this.resolve();
+        if (index == vector.size) {
+            return vector.plus(element);
+        }
+        if (vector.get(index) == element) {
+            return vector;
+        }
+        if (index >= vector.tailOffset()) {
+            final Object[] tail = vector.tail.clone();
+            tail[index & (WIDTH - 1)] = element;
+            return new PersistentVector<>(vector.size, vector.shift, vector.root, tail);
+        }
+        return new PersistentVector<>(vector.size, vector.shift, assoc(vector.shift, vector.root, index, element), vector.tail);
+    }
+
+    /**
+     *  Returns a vector without its last element
+     *
+     * @return The updated vector
+     * @throws IllegalStateException If the vector is empty
+     */
+    public PersistentVector<E> withoutLast() {
+        final PersistentVector<E> vector = this.resolve();
+        final int size = vector.size;
+        if (size == 0) {
+            throw new IllegalStateException("Vector is empty");
+        }
+        if (size == 1) {
+            return empty();
+        }
+        if (size - vector.tailOffset() > 1) {
+            return new PersistentVector<>(size - 1, vector.shift, vector.root, Arrays.copyOf(vector.tail, vector.tail.length - 1));
+        }
+        final Object[] tail = vector.arrayFor(size - 2);
+        Object[] root = vector.popTail(vector.shift, vector.root);
+        int shift = vector.shift;
+        if (root == null) {
+            root = EMPTY_NODE;
+        }
+        if (shift > BITS && root[1] == null) {
+            root = (Object[]) root[0];
+            shift -= BITS;
+        }
+        return new PersistentVector<>(size - 1, shift, root, tail);
+    }
+
+    /**
+     *  Returns a vector with the element at the specified index removed. Removing the last element shares structure as
+     *  {@link #withoutLast()}, removing any other element copies the elements after it.
+     *
+     * @param index The index
+     * @return The updated vector
+     * @throws IndexOutOfBoundsException If the index is out of range
+     */
+    public PersistentVector<E> without(final int index) {
+        final PersistentVector<E> vector = this.resolve();
+        if (index < 0 || index >= vector.size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + vector.size);
+        }
+        if (index == vector.size - 1) {
+            return vector.withoutLast();
+        }
+        PersistentVector<E> result = vector;
+        while (result.size() > index) {
+            result = result.withoutLast();
+        }
+        for (int position = index + 1; position < vector.size; position++) {
+            result = result.plus(vector.get(position));
+        }
+        return result;
+    }
+
+    @Override
+    public int size() {
+        return this.resolve().size;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public E get(final int index) {
+        final PersistentVector<E> vector = this.resolve();
+        if (index < 0 || index >= vector.size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + vector.size);
+        }
+        return (E) vector.arrayFor(index)[index & (WIDTH - 1)];
+    }
+
+    private int tailOffset() {
+        return (this.size < WIDTH) ? 0 : ((this.size - 1) >>> BITS) << BITS;
+    }
+
+    private Object[] arrayFor(final int index) {
+        if (index >= this.tailOffset()) {
+            return this.tail;
+        }
+        Object[] node = this.root;
+        for (int level = this.shift; level > 0; level -= BITS) {
+            node = (Object[]) node[(index >>> level) & (WIDTH - 1)];
+        }
+        return node;
+    }
+
+    private Object[] pushTail(final int level, final Object[] parent, final Object[] tail) {
+        final int index = ((this.size - 1) >>> level) & (WIDTH - 1);
+        final Object[] node = parent.clone();
+        if (level == BITS) {
+            node[index] = tail;
+        }
+        else {
+            final Object[] child = (Object[]) parent[index];
+            node[index] = (child != null) ? this.pushTail(level - BITS, child, tail) : newPath(level - BITS, tail);
+        }
+        return node;
+    }
+
+    private Object[] popTail(final int level, final Object[] node) {
+        final int index = ((this.size - 2) >>> level) & (WIDTH - 1);
+        if (level > BITS) {
+            final Object[] child = this.popTail(level - BITS, (Object[]) node[index]);
+            if (child == null && index == 0) {
+                return null;
+            }
+            final Object[] copy = node.clone();
+            copy[index] = child;
+            return copy;
+        }
+        if (index == 0) {
+            return null;
+        }
+        final Object[] copy = node.clone();
+        copy[index] = null;
+        return copy;
+    }
+
+    private static Object[] newPath(final int level, final Object[] node) {
+        if (level == 0) {
+            return node;
+        }
+        final Object[] path = new Object[WIDTH];
+        path[0] = newPath(level - BITS, node);
+        return path;
+    }
+
+    private static Object[] assoc(final int level, final Object[] node, final int index, final Object element) {
+        final Object[] copy = node.clone();
+        if (level == 0) {
+            copy[index & (WIDTH - 1)] = element;
+        }
+        else {
+            final int child = (index >>> level) & (WIDTH - 1);
+            copy[child] = assoc(level - BITS, (Object[]) node[child], index, element);
+        }
+        return copy;
+    }
+}
@@ -0,0 +1,180 @@
+package com.configurable;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ *  A compiled path to a value nested inside a Configuration property, obtained from
+ *  {@link Configuration#path(String, Class)} or {@link Configuration#pointer(String, Class)}.
+ *
+ *  The path is split into its segments once, and each segment naming an array element is parsed into its index. The
+ *  property itself is resolved through a {@link Key}, and the path is then walked through the nested maps and lists
+ *  without allocating. As nested Json values are immutable, the value found is cached against the property value it
+ *  was found in, and the walk is repeated only once the property is replaced. A PropertyPath may be shared by any number
+ *  of threads and Configuration instances.
+ *
+ * @param <A> The Type of the nested value
+ */
+public final class PropertyPath<A> {
+
+    private final String path;
+    private final Class<A> type;
+    private final Key<Object> property;
+    private final String[] names;
+    private final int[] indices;
+    private Resolution resolution = null;
+
+    private PropertyPath(final String path, final Class<A> type, final List<String> segments) {
+        this.path = path;
+        this.type = Objects.requireNonNull(type);
+        this.property = new Key<>(segments.get(0), Object.class);
+        this.names = segments.subList(1, segments.size()).toArray(new String[0]);
+        this.indices = new int[this.names.length];
+        for (int segment = 0; segment < this.names.length; segment++) {
+            this.indices[segment] = getIndex(this.names[segment]);
+        }
+    }
+
+    /**
+     *  Compiles a path of dot separated segments, such as "db.pool.size". The first segment names the property, and
+     *  segments of digits also select elements of arrays.
+     */
+    static <A> PropertyPath<A> ofPath(final String path, final Class<A> type) {
+        Objects.requireNonNull(path);
+        final List<String> segments = new ArrayList<>();
+        int start = 0;
+        for (int end = path.indexOf('.'); ; end = path.indexOf('.', start)) {
+            final String segment = path.substring(start, (end < 0) ? path.length() : end);
+            if (segment.isEmpty()) {
+                throw new IllegalArgumentException("Empty segment in path \"" + path + "\"");
+            }
+            segments.add(segment);
+            if (end < 0) {
+                break;
+            }
+            start = end + 1;
+        }
+        return new PropertyPath<>(path, type, segments);
+    }
+
+    /**
+     *  Compiles a Json pointer as defined by RFC 6901, such as "/db/pool/size". The first reference token names the
+     *  property, and "~1" and "~0" stand for "/" and "~".
+     */
+    static <A> PropertyPath<A> ofPointer(final String pointer, final Class<A> type) {
+        Objects.requireNonNull(pointer);
+        if (!pointer.startsWith("/")) {
+            throw new IllegalArgumentException("Json pointer \"" + pointer + "\" does not start with '/'");
+        }
+        final List<String> segments = new ArrayList<>();
+        int start = 1;
+        for (int end = pointer.indexOf('/', start); ; end = pointer.indexOf('/', start)) {
+            final String token = pointer.substring(start, (end < 0) ? pointer.length() : end);
+            segments.add(token.indexOf('~') < 0 ? token : token.replace("~1", "/").replace("~0", "~"));
+            if (end < 0) {
+                break;
+            }
+            start = end + 1;
+        }
+        return new PropertyPath<>(pointer, type, segments);
+    }
+
+    private static int getIndex(final String segment) {
+        if (segment.length() > 9 || (segment.length() > 1 && segment.charAt(0) == '0')) {
+            return -1;
+        }
+        int index = 0;
+        for (int position = 0; position < segment.length(); position++) {
+            final char character = segment.charAt(position);
+            if (character < '0' || character > '9') {
+                return -1;
+            }
+            index = index * 10 + (character - '0');
+        }
+        return index;
+    }
+
+    public String getPath() {
+        return this.path;
+    }
+
+    public Class<A> getType() {
+        return this.type;
+    }
+
+    /**
+     *  Returns the value at this path on the specified Configuration
+     *
+     * @param configuration The Configuration to read
+     * @return The value, or null if the property does not exist or the path does not lead to a value
+     * @throws ClassCastException If the value is neither of the type of this PropertyPath nor a number it converts
+     *                            exactly, see {@link Key}
+     */
+    @SuppressWarnings("unchecked")
+    public A get(final Configuration configuration) {
+        final Object root = this.property.get(configuration);
+        final Resolution resolution = this.resolution;
+        final Object value;
+        if (resolution != null && resolution.root == root && root != null) {
+            value = resolution.value;
+        }
+        else {
+            value = this.cast(this.walk(root));
+            if (root instanceof PersistentMap || root instanceof PersistentVector) {
+                this.resolution = new Resolution(root, value);
+            }
+        }
+        return (A) value;
+    }
+
+    /**
+     *  Checks the specified value against the type of this PropertyPath, widening numbers as {@link Key} does
+     */
+    private Object cast(final Object value) {
+        if (value == null || this.type.isInstance(value)) {
+            return value;
+        }
+        final Object converted = Json.widen(value, this.type);
+        if (converted == null) {
+            throw new ClassCastException("Value at " + this.path + " of type " + value.getClass().getName() + " is not a " + this.type.getName());
+        }
+        return converted;
+    }
+
+    private Object walk(final Object root) {
+        Object value = root;
+        for (int segment = 0; segment < this.names.length && value != null; segment++) {
+            if (value instanceof Map) {
+                value = ((Map<?, ?>) value).get(this.names[segment]);
+            }
+            else if (value instanceof List && this.indices[segment] >= 0) {
+                final List<?> list = (List<?>) value;
+                value = (this.indices[segment] < list.size()) ? list.get(this.indices[segment]) : null;
+            }
+            else {
+                value = null;
+            }
+        }
+        return value;
+    }
+
+    @Override
+    public String toString() {
+        return this.getClass().getName() + "{path=" + this.path + ", type=" + this.type.getName() + "}";
+    }
+
+    /**
+     *  The value a PropertyPath found in one property value. Immutable, so it may be published through a plain field.
+     */
+    private static final class Resolution {
+        private final Object root;
+        private final Object value;
+
+        private Resolution(final Object root, final Object value) {
+            this.root = root;
+            this.value = value;
+        }
+    }
+}
@@ -0,0 +1,215 @@
+package com.configurable;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.lang.model.util.Elements;
+import javax.lang.model.util.Types;
+import javax.tools.Diagnostic;
+import javax.tools.StandardLocation;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.*;
+import java.util.function.Function;
+
+/**
+ *  Generates a {@link Binder} for every Configuration subclass declaring fields annotated with {@link Property}, so
+ *  those classes can be loaded without reflection. The generated Binders are listed in
+ *  {@code META-INF/services/com.configurable.Binder}, through which {@link java.util.ServiceLoader} finds them.
+ *
+ *  A Binder is only generated when every property field is reachable from the package of the class. Classes with
+ *  private property fields, and subclasses which declare no property fields of their own, fall back to reflection.
+ */
+@SupportedAnnotationTypes({ "com.configurable.Property", "com.configurable.Hidden" })
+public final class PropertyProcessor extends AbstractProcessor {
+
+    private final Set<String> binders = new TreeSet<>();
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(final Set<? extends TypeElement> annotations, final RoundEnvironment environment) {
+        if (environment.processingOver()) {
+            this.register();
+            return true;
+        }
+        final Set<TypeElement> types = new LinkedHashSet<>();
+        for (final Element element : environment.getElementsAnnotatedWith(Property.class)) {
+            if (element.getKind() == ElementKind.FIELD && element.getEnclosingElement() instanceof TypeElement) {
+                types.add((TypeElement) element.getEnclosingElement());
+            }
+        }
+        for (final TypeElement type : types) {
+            this.generate(type);
+        }
+        // Both annotations are only meaningful to Configurable, so claim them rather than leave them unclaimed
+        return true;
+    }
+
+    private void generate(final TypeElement type) {
+        final Elements elements = this.processingEnv.getElementUtils();
+        final Types types = this.processingEnv.getTypeUtils();
+        final TypeElement configuration = elements.getTypeElement(Configuration.class.getName());
+        final TypeElement value = elements.getTypeElement(Value.class.getName());
+        if (type.getKind() != ElementKind.CLASS || type.getModifiers().contains(Modifier.ABSTRACT)) {
+            return;
+        }
+        if (!types.isSubtype(types.erasure(type.asType()), types.erasure(configuration.asType()))) {
+            return;
+        }
+        for (Element element = type; element instanceof TypeElement; element = element.getEnclosingElement()) {
+            if (element.getModifiers().contains(Modifier.PRIVATE)) {
+                this.skip(type, "it is not accessible from its package");
+                return;
+            }
+        }
+
+        final String packageName = elements.getPackageOf(type).getQualifiedName().toString();
+        final List<VariableElement> fields = new ArrayList<>();
+        for (TypeElement clazz = type; clazz != null && !clazz.equals(configuration); clazz = getSuperclass(clazz)) {
+            for (final VariableElement field : ElementFilter.fieldsIn(clazz.getEnclosedElements())) {
+                if (field.getAnnotation(Property.class) == null) {
+                    continue;
+                }
+                final Set<Modifier> modifiers = field.getModifiers();
+                if (modifiers.contains(Modifier.STATIC) || !modifiers.contains(Modifier.FINAL)) {
+                    continue;
+                }
+                if (!types.isAssignable(types.erasure(field.asType()), types.erasure(value.asType()))) {
+                    continue;
+                }
+                if (!isAccessible(elements, packageName, clazz, field)) {
+                    this.skip(type, "property field " + clazz.getQualifiedName() + "." + field.getSimpleName() + " is not accessible from its package");
+                    return;
+                }
+                fields.add(field);
+            }
+        }
+
+        final String binaryName = elements.getBinaryName(type).toString();
+        final String binderName = Binder.getBinderName(binaryName);
+        final String simpleName = binderName.substring(binderName.lastIndexOf('.') + 1);
+        final String typeName = types.erasure(type.asType()).toString();
+        try (final PrintWriter writer = new PrintWriter(this.processingEnv.getFiler().createSourceFile(binderName, type).openWriter())) {
+            if (!packageName.isEmpty()) {
+                writer.println("package " + packageName + ";");
+                writer.println();
+            }
+            writer.println("/**");
+            writer.println(" *  Generated by " + PropertyProcessor.class.getName() + " for {@link " + typeName + "}");
+            writer.println(" */");
+            // The erased type is raw when the Configuration or a class enclosing it is generic
+            writer.println("@SuppressWarnings(\"rawtypes\")");
+            writer.println("public final class " + simpleName + " extends " + Binder.class.getName() + "<" + typeName + "> {");
+            writer.println();
+            writer.println("    public " + simpleName + "() {");
+            writer.println("        super(" + typeName + ".class,");
+            writer.println("                new String[] {" + join(fields, field -> quote(field.getAnnotation(Property.class).value())) + "},");
+            writer.println("                new boolean[] {" + join(fields, field -> String.valueOf(field.getAnnotation(Hidden.class) != null)) + "}");
+            writer.println("        );");
+            writer.println("    }");
+            writer.println();
+            writer.println("    @Override");
+            writer.println("    protected " + Value.class.getName() + "<?> get(final " + typeName + " configuration, final int index) {");
+            writer.println("        switch (index) {");
+            for (int index = 0; index < fields.size(); index++) {
+                final VariableElement field = fields.get(index);
+                final TypeElement declaringType = (TypeElement) field.getEnclosingElement();
+                final String receiver = declaringType.equals(type)
+                        ? "configuration"
+                        : "((" + types.erasure(declaringType.asType()) + ") configuration)"
+                ;
+                writer.println("            case " + index + ": return " + receiver + "." + field.getSimpleName() + ";");
+            }
+            writer.println("            default: throw new IndexOutOfBoundsException(String.valueOf(index));");
+            writer.println("        }");
+            writer.println("    }");
+            writer.println("}");
+        }
+        catch (final IOException exception) {
+            this.processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, "Unable to generate " + binderName + ": " + exception.getMessage(), type);
+            return;
+        }
+        this.binders.add(binderName);
+    }
+
+    /**
+     *  Lists every Binder generated during this compilation as a service, once all rounds are done
+     */
+    private void register() {
+        if (this.binders.isEmpty()) {
+            return;
+        }
+        final String name = "META-INF/services/" + Binder.class.getName();
+        try (final PrintWriter writer = new PrintWriter(this.processingEnv.getFiler().createResource(StandardLocation.CLASS_OUTPUT, "", name).openWriter())) {
+            for (final String binder : this.binders) {
+                writer.println(binder);
+            }
+        }
+        catch (final IOException exception) {
+            this.processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, "Unable to register Binders in " + name + ": " + exception.getMessage());
+        }
+    }
+
+    private void skip(final TypeElement type, final String reason) {
+        this.processingEnv.getMessager().printMessage(Diagnostic.Kind.NOTE, "No Binder generated for " + type.getQualifiedName() + ": " + reason, type);
+    }
+
+    private static TypeElement getSuperclass(final TypeElement type) {
+        final TypeMirror superclass = type.getSuperclass();
+        return (superclass.getKind() == TypeKind.DECLARED) ? (TypeElement) ((DeclaredType) superclass).asElement() : null;
+    }
+
+    private static boolean isAccessible(final Elements elements, final String packageName, final TypeElement declaringType, final VariableElement field) {
+        final boolean samePackage = elements.getPackageOf(declaringType).getQualifiedName().contentEquals(packageName);
+        if (field.getModifiers().contains(Modifier.PRIVATE)) {
+            return false;
+        }
+        if (!samePackage && !(field.getModifiers().contains(Modifier.PUBLIC) && declaringType.getModifiers().contains(Modifier.PUBLIC))) {
+            return false;
+        }
+        for (Element element = declaringType; element instanceof TypeElement; element = element.getEnclosingElement()) {
+            if (element.getModifiers().contains(Modifier.PRIVATE)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static String join(final List<VariableElement> fields, final Function<VariableElement, String> function) {
+        final StringJoiner joiner = new StringJoiner(", ");
+        for (final VariableElement field : fields) {
+            joiner.add(function.apply(field));
+        }
+        return joiner.toString();
+    }
+
+    private static String quote(final String string) {
+        final StringBuilder builder = new StringBuilder("\"");
+        for (final char character : string.toCharArray()) {
+            if (character == '"' || character == '\\') {
+                builder.append('\\').append(character);
+            }
+            else if (character < 0x20 || character > 0x7e) {
+                builder.append(String.format("\\u%04x", (int) character));
+            }
+            else {
+                builder.append(character);
+            }
+        }
+        return builder.append('"').toString();
+    }
+}
@@ -0,0 +1,51 @@
+package com.configurable;
+
+import java.util.concurrent.locks.StampedLock;
+
+/**
+ *  A {@link StampedLock} which the thread holding its write lock may lock again, for reading or writing, without
+ *  waiting for itself. Such nested acquisitions return a zero stamp, which the matching unlock ignores. Every other
+ *  use, including optimistic reads, behaves as a plain StampedLock.
+ *
+ *  The Stores guarded by a StampedLock run {@link Configuration#transaction(java.util.function.Consumer)} functions and
+ *  bulk updates under the write lock, so without this a function reading the Configuration would never return.
+ */
+final class ReentrantStampedLock extends StampedLock {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     *  Only ever compared with the calling thread, which always observes its own writes, so it needs no synchronization
+     */
+    private transient Thread owner;
+
+    @Override
+    public long writeLock() {
+        if (this.owner == Thread.currentThread()) {
+            return 0;
+        }
+        final long stamp = super.writeLock();
+        this.owner = Thread.currentThread();
+        return stamp;
+    }
+
+    @Override
+    public void unlockWrite(final long stamp) {
+        if (stamp != 0) {
+            this.owner = null;
+            super.unlockWrite(stamp);
+        }
+    }
+
+    @Override
+    public long readLock() {
+        return (this.owner == Thread.currentThread()) ? 0 : super.readLock();
+    }
+
+    @Override
+    public void unlockRead(final long stamp) {
+        if (stamp != 0) {
+            super.unlockRead(stamp);
+        }
+    }
+}
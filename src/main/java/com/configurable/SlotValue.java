@@ -0,0 +1,58 @@
+package com.configurable;
+
+/**
+ *  A thin {@link Value} view over one slot of a {@link DenseStore}. Holds no value of its own, and becomes inert once
+ *  the property of its slot is removed.
+ */
+final class SlotValue extends Value<Object> {
+
+    private final DenseStore store;
+    private final int slot;
+    private final int generation;
+
+    SlotValue(final DenseStore store, final int slot, final int generation) {
+        super(null);
+        this.store = store;
+        this.slot = slot;
+        this.generation = generation;
+    }
+
+    boolean isSlot(final DenseStore store, final int slot) {
+        return this.store == store && this.slot == slot;
+    }
+
+    @Override
+    Object load() {
+        return this.store.load(this.slot, this.generation);
+    }
+
+    @Override
+    void store(final Object value) {
+        this.store.store(this.slot, this.generation, value, this.getMemory());
+    }
+
+    @Override
+    Object swap(final Object value) {
+        return this.store.swap(this.slot, this.generation, value);
+    }
+
+    @Override
+    boolean cas(final Object expect, final Object update) {
+        return this.store.cas(this.slot, this.generation, expect, update);
+    }
+
+    /**
+     *  Views handed out for one lookup carry no subscribers, so changes made through them are reported by the view kept
+     *  for the slot, if there is one
+     */
+    @Override
+    void changed(final Object oldValue, final Object newValue) {
+        final Value<Object> pinned = this.store.getPinned(this.slot, this.generation);
+        if (pinned != null && pinned != this) {
+            pinned.changed(oldValue, newValue);
+        }
+        else {
+            super.changed(oldValue, newValue);
+        }
+    }
+}
@@ -0,0 +1,531 @@
+package com.configurable;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+import java.util.function.BiConsumer;
+
+/**
+ *  Encodes properties in a compact binary format which loads much faster than Json, see
+ *  {@link Configuration#writeSnapshot(java.io.File)}.
+ *
+ *  A snapshot starts with a header holding the magic number, the format version, the property count and the positions
+ *  of the string table and of a hash index. The string table holds every distinct string, as names and as values, each
+ *  length prefixed in UTF-8 and preceded by the position of each string. The hash index is an open addressing table of
+ *  (name hash, entry position) pairs, with position 0 marking a free slot, so a snapshot is readable in place, see
+ *  {@link Index}. Then follow the properties, each as the table index of its name and its value. A value is a tag byte
+ *  followed by its payload: nothing for null and booleans, a zigzag varint for integers and longs, 8 bytes for doubles,
+ *  a table index for strings and decimals, and a count followed by the entries or elements for objects and arrays. All
+ *  counts, lengths and indices are varints.
+ */
+final class Snapshot {
+
+    static final int MAGIC = 0x43464753;
+    static final int VERSION = 2;
+    private static final int HEADER = 28;
+
+    /**
+     *  The deepest nesting of objects and arrays a snapshot may hold. Values are decoded recursively, so deeper ones are
+     *  refused when written and rejected as corrupt when read, rather than exhausting the stack.
+     */
+    static final int MAX_DEPTH = 512;
+
+    static final byte NULL = 0;
+    static final byte FALSE = 1;
+    static final byte TRUE = 2;
+    static final byte INT = 3;
+    static final byte LONG = 4;
+    static final byte DOUBLE = 5;
+    static final byte DECIMAL = 6;
+    static final byte STRING = 7;
+    static final byte MAP = 8;
+    static final byte LIST = 9;
+
+    private final Map<String, Integer> indices = new HashMap<>();
+    private final List<String> strings = new ArrayList<>();
+    private ByteBuffer body = ByteBuffer.allocate(4096);
+
+    private Snapshot() {
+
+    }
+
+    /**
+     *  Writes the specified properties to the specified channel
+     *
+     * @param channel The channel to write to
+     * @param properties The properties, by name
+     * @throws IOException If the channel fails
+     */
+    static void write(final FileChannel channel, final Map<String, Object> properties) throws IOException {
+        final Snapshot snapshot = new Snapshot();
+        final int[] hashes = new int[properties.size()];
+        final int[] positions = new int[properties.size()];
+        int count = 0;
+        for (final Map.Entry<String, Object> entry : properties.entrySet()) {
+            hashes[count] = hash(entry.getKey());
+            positions[count++] = snapshot.body.position();
+            snapshot.putString(entry.getKey());
+            snapshot.putValue(entry.getValue(), 0);
+        }
+
+        final byte[][] encoded = new byte[snapshot.strings.size()][];
+        int length = HEADER + 4 * encoded.length;
+        for (int index = 0; index < encoded.length; index++) {
+            encoded[index] = snapshot.strings.get(index).getBytes(StandardCharsets.UTF_8);
+            length += 5 + encoded[index].length;
+        }
+        final Snapshot header = new Snapshot();
+        header.body = ByteBuffer.allocate(length);
+        header.body.position(HEADER + 4 * encoded.length);
+        for (int index = 0; index < encoded.length; index++) {
+            header.body.putInt(HEADER + 4 * index, header.body.position());
+            header.putVarint(encoded[index].length);
+            header.body.put(encoded[index]);
+        }
+
+        int capacity = 2;
+        while (capacity < 2 * count) {
+            capacity *= 2;
+        }
+        final int indexOffset = header.body.position();
+        final int dataOffset = indexOffset + 8 * capacity;
+        final ByteBuffer index = ByteBuffer.allocate(8 * capacity);
+        for (int entry = 0; entry < count; entry++) {
+            int slot = hashes[entry] & (capacity - 1);
+            while (index.getInt(8 * slot + 4) != 0) {
+                slot = (slot + 1) & (capacity - 1);
+            }
+            index.putInt(8 * slot, hashes[entry]);
+            index.putInt(8 * slot + 4, dataOffset + positions[entry]);
+        }
+
+        header.body.putInt(0, MAGIC);
+        header.body.putInt(4, VERSION);
+        header.body.putInt(8, count);
+        header.body.putInt(12, encoded.length);
+        header.body.putInt(16, HEADER);
+        header.body.putInt(20, capacity);
+        header.body.putInt(24, indexOffset);
+
+        header.body.flip();
+        snapshot.body.flip();
+        final ByteBuffer[] buffers = { header.body, index, snapshot.body };
+        long remaining = (long) header.body.remaining() + index.remaining() + snapshot.body.remaining();
+        while (remaining > 0) {
+            remaining -= channel.write(buffers);
+        }
+    }
+
+    /**
+     *  Reads the properties of the specified snapshot file
+     *
+     * @param path The snapshot file
+     * @return The properties, by name
+     * @throws IOException If the file cannot be read, or is not a snapshot of a supported version
+     */
+    static Map<String, Object> read(final Path path) throws IOException {
+        final ByteBuffer buffer;
+        try (final FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            final long size = channel.size();
+            if (size > Integer.MAX_VALUE) {
+                throw new IOException("Snapshot is too large");
+            }
+            buffer = ByteBuffer.allocate((int) size);
+            while (buffer.hasRemaining()) {
+                if (channel.read(buffer) < 0) {
+                    throw new IOException("Snapshot is truncated");
+                }
+            }
+            buffer.flip();
+        }
+        return read(buffer);
+    }
+
+    /**
+     *  Reads the properties from the specified buffer, which must be positioned at the start of a snapshot
+     *
+     * @param buffer The buffer to consume
+     * @return The properties, by name
+     * @throws IOException If the buffer does not hold a snapshot of a supported version
+     */
+    static Map<String, Object> read(final ByteBuffer buffer) throws IOException {
+        try {
+            final Map<String, Object> properties = new HashMap<>();
+            new Index(buffer.slice()).forEach(properties::put);
+            return properties;
+        }
+        catch (final BufferUnderflowException | IndexOutOfBoundsException | IllegalArgumentException exception) {
+            throw new IOException("Snapshot is truncated or corrupt", exception);
+        }
+    }
+
+    /**
+     *  Reads the next tagged value from the specified buffer. Objects and arrays are decoded into a
+     *  {@link PersistentMap} and a {@link PersistentVector}.
+     *
+     * @param buffer The buffer to consume
+     * @param strings Resolves indices into the string table
+     * @return The decoded value
+     * @throws IOException If the value has an unknown tag, a count or index out of range, or nests objects and arrays
+     *         deeper than {@link #MAX_DEPTH}
+     */
+    static Object getValue(final ByteBuffer buffer, final Strings strings) throws IOException {
+        return getValue(buffer, strings, 0);
+    }
+
+    /**
+     * @param depth The number of objects and arrays enclosing the value
+     */
+    private static Object getValue(final ByteBuffer buffer, final Strings strings, final int depth) throws IOException {
+        final byte tag = buffer.get();
+        if ((tag == MAP || tag == LIST) && depth >= MAX_DEPTH) {
+            throw corrupt();
+        }
+        switch (tag) {
+            case NULL:
+                return null;
+            case FALSE:
+                return Boolean.FALSE;
+            case TRUE:
+                return Boolean.TRUE;
+            case INT:
+                return (int) getZigzag(buffer);
+            case LONG:
+                return getZigzag(buffer);
+            case DOUBLE:
+                return buffer.getDouble();
+            case DECIMAL:
+                return new BigDecimal(strings.get(getVarint(buffer)));
+            case STRING:
+                return strings.get(getVarint(buffer));
+            case MAP: {
+                final int count = getCount(buffer);
+                PersistentMap<String, Object> map = PersistentMap.empty();
+                for (int index = 0; index < count; index++) {
+                    final String key = strings.get(getVarint(buffer));
+                    map = map.with(key, getValue(buffer, strings, depth + 1));
+                }
+                return map;
+            }
+            case LIST: {
+                final int count = getCount(buffer);
+                PersistentVector<Object> list = PersistentVector.empty();
+                for (int index = 0; index < count; index++) {
+                    list = list.plus(getValue(buffer, strings, depth + 1));
+                }
+                return list;
+            }
+            default:
+                throw new IOException("Unknown value tag " + tag + " at offset " + (buffer.position() - 1));
+        }
+    }
+
+    private static String getString(final ByteBuffer buffer) throws IOException {
+        final byte[] bytes = new byte[getCount(buffer)];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     *  Reads a length or an element count. Every byte or element takes at least one byte, so a count exceeding the
+     *  remaining bytes is corrupt, and is rejected before anything is allocated for it.
+     */
+    private static int getCount(final ByteBuffer buffer) throws IOException {
+        final int count = getVarint(buffer);
+        if (count > buffer.remaining()) {
+            throw corrupt();
+        }
+        return count;
+    }
+
+    /**
+     * @return A non-negative varint
+     */
+    private static int getVarint(final ByteBuffer buffer) throws IOException {
+        int value = 0;
+        for (int shift = 0; shift < 32; shift += 7) {
+            final byte next = buffer.get();
+            value |= (next & 0x7F) << shift;
+            if (next >= 0) {
+                if (value < 0) {
+                    break;
+                }
+                return value;
+            }
+        }
+        throw corrupt();
+    }
+
+    private static long getZigzag(final ByteBuffer buffer) throws IOException {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            final byte next = buffer.get();
+            value |= (long) (next & 0x7F) << shift;
+            if (next >= 0) {
+                return (value >>> 1) ^ -(value & 1);
+            }
+        }
+        throw corrupt();
+    }
+
+    private static IOException corrupt() {
+        return new IOException("Snapshot is truncated or corrupt");
+    }
+
+    private static int hash(final String name) {
+        final int hash = name.hashCode();
+        return hash ^ (hash >>> 16);
+    }
+
+    /**
+     *  A snapshot read in place. Every lookup reads through the hash index and decodes only the entry found,
+     *  so the buffer may be a mapping of the file shared with other processes. Only absolute reads and duplicates of the
+     *  buffer are used, so an Index may be used by many threads at once.
+     */
+    static final class Index {
+        private final ByteBuffer buffer;
+        private final int count;
+        private final int strings;
+        private final int stringTable;
+        private final int capacity;
+        private final int indexOffset;
+
+        /**
+         * @param buffer The snapshot, starting at position 0
+         * @throws IOException If the buffer does not hold a snapshot of the current version
+         */
+        Index(final ByteBuffer buffer) throws IOException {
+            if (buffer.limit() < HEADER || buffer.getInt(0) != MAGIC) {
+                throw new IOException("Not a configuration snapshot");
+            }
+            if (buffer.getInt(4) != VERSION) {
+                throw new IOException("Unsupported snapshot version " + buffer.getInt(4));
+            }
+            this.buffer = buffer;
+            this.count = buffer.getInt(8);
+            this.strings = buffer.getInt(12);
+            this.stringTable = buffer.getInt(16);
+            this.capacity = buffer.getInt(20);
+            this.indexOffset = buffer.getInt(24);
+            if (Integer.bitCount(this.capacity) != 1 || this.count >= this.capacity || this.strings < 0
+                    || (long) this.stringTable + 4L * this.strings > buffer.limit()
+                    || (long) this.indexOffset + 8L * this.capacity > buffer.limit()) {
+                throw new IOException("Snapshot is truncated or corrupt");
+            }
+        }
+
+        int size() {
+            return this.count;
+        }
+
+        /**
+         *  Decodes the value of the specified property
+         *
+         * @param name The property name
+         * @return The value, or null if there is no such property
+         * @throws IOException If the entry is corrupt
+         */
+        Object get(final String name) throws IOException {
+            final ByteBuffer cursor = this.find(name);
+            return (cursor != null) ? this.getValue(cursor) : null;
+        }
+
+        boolean contains(final String name) throws IOException {
+            return this.find(name) != null;
+        }
+
+        /**
+         *  Decodes every property, in index order
+         *
+         * @param consumer Receives each name and value
+         * @throws IOException If an entry is corrupt
+         */
+        void forEach(final BiConsumer<String, Object> consumer) throws IOException {
+            for (int slot = 0; slot < this.capacity; slot++) {
+                final int position = this.buffer.getInt(this.indexOffset + 8 * slot + 4);
+                if (position != 0) {
+                    final String name;
+                    final ByteBuffer cursor;
+                    try {
+                        cursor = this.cursor(position);
+                        name = this.getString(getVarint(cursor));
+                    }
+                    catch (final BufferUnderflowException | IndexOutOfBoundsException | IllegalArgumentException exception) {
+                        throw new IOException("Snapshot is truncated or corrupt", exception);
+                    }
+                    consumer.accept(name, this.getValue(cursor));
+                }
+            }
+        }
+
+        /**
+         * @return A cursor positioned at the value of the specified property, or null if there is no such property
+         */
+        private ByteBuffer find(final String name) throws IOException {
+            try {
+                final int hash = hash(name);
+                final int mask = this.capacity - 1;
+                for (int probe = 0, slot = hash & mask; probe < this.capacity; probe++, slot = (slot + 1) & mask) {
+                    final int position = this.buffer.getInt(this.indexOffset + 8 * slot + 4);
+                    if (position == 0) {
+                        return null;
+                    }
+                    if (this.buffer.getInt(this.indexOffset + 8 * slot) == hash) {
+                        final ByteBuffer cursor = this.cursor(position);
+                        if (this.getString(getVarint(cursor)).equals(name)) {
+                            return cursor;
+                        }
+                    }
+                }
+                return null;
+            }
+            catch (final BufferUnderflowException | IndexOutOfBoundsException | IllegalArgumentException exception) {
+                throw new IOException("Snapshot is truncated or corrupt", exception);
+            }
+        }
+
+        private Object getValue(final ByteBuffer cursor) throws IOException {
+            try {
+                return Snapshot.getValue(cursor, this::getString);
+            }
+            catch (final BufferUnderflowException | IndexOutOfBoundsException | IllegalArgumentException exception) {
+                throw new IOException("Snapshot is truncated or corrupt", exception);
+            }
+        }
+
+        private String getString(final int index) throws IOException {
+            if (index < 0 || index >= this.strings) {
+                throw corrupt();
+            }
+            return Snapshot.getString(this.cursor(this.buffer.getInt(this.stringTable + 4 * index)));
+        }
+
+        private ByteBuffer cursor(final int position) {
+            final ByteBuffer cursor = this.buffer.duplicate();
+            cursor.position(position);
+            return cursor;
+        }
+    }
+
+    /**
+     *  Resolves indices into the string table
+     */
+    @FunctionalInterface
+    interface Strings {
+        /**
+         * @param index The index of the string
+         * @return The string
+         * @throws IOException If there is no such string
+         */
+        String get(int index) throws IOException;
+    }
+
+    /**
+     *  Writes the specified value with its tag. Values of unsupported types are written as their string representation,
+     *  as in Json.
+     *
+     * @param depth The number of objects and arrays enclosing the value
+     * @throws IOException If the value nests objects and arrays deeper than {@link #MAX_DEPTH}
+     */
+    private void putValue(final Object value, final int depth) throws IOException {
+        if ((value instanceof Map || value instanceof List) && depth >= MAX_DEPTH) {
+            throw new IOException("Value is nested deeper than " + MAX_DEPTH + " levels");
+        }
+        if (value == null) {
+            this.put(NULL);
+        }
+        else if (value instanceof Boolean) {
+            this.put((Boolean) value ? TRUE : FALSE);
+        }
+        else if (value instanceof Number) {
+            final Number number = Json.asNumber((Number) value);
+            if (number instanceof Integer) {
+                this.put(INT);
+                this.putZigzag(number.intValue());
+            }
+            else if (number instanceof Long) {
+                this.put(LONG);
+                this.putZigzag(number.longValue());
+            }
+            else if (number instanceof Double) {
+                this.put(DOUBLE);
+                this.ensure(8);
+                this.body.putDouble(number.doubleValue());
+            }
+            else {
+                this.put(DECIMAL);
+                this.putString(number.toString());
+            }
+        }
+        else if (value instanceof Map) {
+            final Map<?, ?> map = (Map<?, ?>) value;
+            this.put(MAP);
+            this.putVarint(map.size());
+            for (final Map.Entry<?, ?> entry : map.entrySet()) {
+                this.putString(String.valueOf(entry.getKey()));
+                this.putValue(entry.getValue(), depth + 1);
+            }
+        }
+        else if (value instanceof List) {
+            final List<?> list = (List<?>) value;
+            this.put(LIST);
+            this.putVarint(list.size());
+            for (final Object element : list) {
+                this.putValue(element, depth + 1);
+            }
+        }
+        else {
+            this.put(STRING);
+            this.putString(value.toString());
+        }
+    }
+
+    private void putString(final String string) {
+        Integer index = this.indices.get(string);
+        if (index == null) {
+            index = this.strings.size();
+            this.strings.add(string);
+            this.indices.put(string, index);
+        }
+        this.putVarint(index);
+    }
+
+    private void put(final byte value) {
+        this.ensure(1);
+        this.body.put(value);
+    }
+
+    private void putVarint(int value) {
+        this.ensure(5);
+        while ((value & ~0x7F) != 0) {
+            this.body.put((byte) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        this.body.put((byte) value);
+    }
+
+    private void putZigzag(final long value) {
+        this.ensure(10);
+        long zigzag = (value << 1) ^ (value >> 63);
+        while ((zigzag & ~0x7FL) != 0) {
+            this.body.put((byte) ((zigzag & 0x7F) | 0x80));
+            zigzag >>>= 7;
+        }
+        this.body.put((byte) zigzag);
+    }
+
+    private void ensure(final int space) {
+        if (this.body.remaining() < space) {
+            final ByteBuffer body = ByteBuffer.allocate(Math.max(this.body.capacity() * 2, this.body.position() + space));
+            this.body.flip();
+            body.put(this.body);
+            this.body = body;
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package com.configurable;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ *  A copy-on-write {@link Store}. The mapping is published as an immutable snapshot through a volatile reference, so
+ *  readers never lock. Writers serialize on a lock, copy the current snapshot, apply their change and swap the copy in.
+ */
+final class SnapshotStore extends Store {
+
+    private final Lock synchronization = new ReentrantLock();
+    private volatile Map<String, Value<Object>> properties = Collections.emptyMap();
+
+    @Override
+    Value<Object> get(final String property) {
+        return this.properties.get(property);
+    }
+
+    @Override
+    Value<Object> computeIfAbsent(final String property) {
+        final Value<Object> reference = this.properties.get(property);
+        if (reference != null) {
+            return reference;
+        }
+        this.synchronization.lock();
+        try {
+            final Map<String, Value<Object>> properties = new HashMap<>(this.properties);
+            final Value<Object> value = properties.computeIfAbsent(property, string -> Value.to(null));
+            this.properties = properties;
+            this.modified();
+            return value;
+        }
+        finally {
+            this.synchronization.unlock();
+        }
+    }
+
+    @Override
+    Value<Object> remove(final String property) {
+        if (!this.properties.containsKey(property)) {
+            return null;
+        }
+        this.synchronization.lock();
+        try {
+            final Map<String, Value<Object>> properties = new HashMap<>(this.properties);
+            final Value<Object> value = properties.remove(property);
+            this.properties = properties;
+            this.modified();
+            return value;
+        }
+        finally {
+            this.synchronization.unlock();
+        }
+    }
+
+    @Override
+    void update(final Consumer<Map<String, Value<Object>>> function) {
+        this.synchronization.lock();
+        try {
+            final Map<String, Value<Object>> properties = new HashMap<>(this.properties);
+            function.accept(properties);
+            this.properties = properties;
+            this.modified();
+        }
+        finally {
+            this.synchronization.unlock();
+        }
+    }
+
+    /**
+     *  Updates change the Values of the current snapshot in place, so reads excluding them serialize on the writer lock
+     */
+    @Override
+    <A> A read(final Function<Map<String, Value<Object>>, A> function) {
+        this.synchronization.lock();
+        try {
+            return function.apply(this.properties);
+        }
+        finally {
+            this.synchronization.unlock();
+        }
+    }
+
+    @Override
+    Map<String, Value<Object>> snapshot() {
+        return Collections.unmodifiableMap(this.properties);
+    }
+}
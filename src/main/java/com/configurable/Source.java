@@ -0,0 +1,115 @@
+package com.configurable;
+
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.nio.file.NoSuchFileException;
+import java.util.*;
+
+/**
+ *  Supplies the properties of one layer of a {@link Layers} configuration
+ */
+@FunctionalInterface
+public interface Source {
+
+    /**
+     *  Loads the current properties of this source
+     *
+     * @return The properties, by name
+     * @throws IOException If the properties cannot be loaded
+     */
+    Map<String, Object> load() throws IOException;
+
+    /**
+     *  Returns a source supplying the specified properties
+     *
+     * @param properties The properties, copied
+     * @return The source
+     */
+    static Source of(final Map<String, ?> properties) {
+        final Map<String, Object> copy = Collections.unmodifiableMap(new HashMap<>(properties));
+        return () -> copy;
+    }
+
+    /**
+     *  Returns a source parsing the specified Json file on each load. A missing file supplies no properties.
+     *
+     * @param file The Json file
+     * @return The source
+     */
+    static Source file(final File file) {
+        Objects.requireNonNull(file);
+        return () -> {
+            try {
+                return Configuration.parse(file);
+            }
+            catch (final FileNotFoundException | NoSuchFileException exception) {
+                return Collections.emptyMap();
+            }
+        };
+    }
+
+    /**
+     *  Returns a source reading the specified binary snapshot on each load, see
+     *  {@link Configuration#writeSnapshot(File)}. A missing file supplies no properties.
+     *
+     * @param file The snapshot file
+     * @return The source
+     */
+    static Source snapshot(final File file) {
+        Objects.requireNonNull(file);
+        return () -> {
+            try {
+                return Snapshot.read(file.toPath());
+            }
+            catch (final NoSuchFileException exception) {
+                return Collections.emptyMap();
+            }
+        };
+    }
+
+    /**
+     *  Returns a source supplying the system properties whose names start with the specified prefix, named without it.
+     *  Values are strings. Names are flat: "app.db.host" supplies the single property "db.host", read with
+     *  {@link Configuration#get(String)}, rather than a "host" member nested in a "db" object, so it is not found by
+     *  {@link Configuration#path(String)}.
+     *
+     * @param prefix The prefix, such as "app."
+     * @return The source
+     */
+    static Source systemProperties(final String prefix) {
+        Objects.requireNonNull(prefix);
+        return () -> {
+            final Map<String, Object> properties = new HashMap<>();
+            for (final String name : System.getProperties().stringPropertyNames()) {
+                if (name.startsWith(prefix) && name.length() > prefix.length()) {
+                    properties.put(name.substring(prefix.length()), System.getProperty(name));
+                }
+            }
+            return properties;
+        };
+    }
+
+    /**
+     *  Returns a source supplying the environment variables whose names start with the specified prefix. Variables are
+     *  named without the prefix, in lower case, with underscores replaced by dots: with the prefix "APP_", the variable
+     *  APP_DB_HOST supplies the property "db.host". Values are strings. As with {@link #systemProperties(String)}, names
+     *  are flat, so that property is read with {@link Configuration#get(String)}, not {@link Configuration#path(String)}.
+     *
+     * @param prefix The prefix, such as "APP_"
+     * @return The source
+     */
+    static Source environment(final String prefix) {
+        Objects.requireNonNull(prefix);
+        return () -> {
+            final Map<String, Object> properties = new HashMap<>();
+            for (final Map.Entry<String, String> entry : System.getenv().entrySet()) {
+                final String name = entry.getKey();
+                if (name.startsWith(prefix) && name.length() > prefix.length()) {
+                    properties.put(name.substring(prefix.length()).toLowerCase(Locale.ROOT).replace('_', '.'), entry.getValue());
+                }
+            }
+            return properties;
+        };
+    }
+}
@@ -0,0 +1,109 @@
+package com.configurable;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ *  A {@link Store} guarding a single map with a {@link StampedLock}. Lookups first try an optimistic read, which writes
+ *  nothing to shared memory, and only take the read lock when a writer was active during the lookup.
+ *
+ *  An optimistic read runs concurrently with writers, so the map is a {@link ConcurrentHashMap}: a lookup racing a
+ *  resize or a structural change of a plain {@link HashMap} may loop forever or fail in ways validation cannot undo.
+ *  The lock is a {@link ReentrantStampedLock}, so the thread running a bulk update may still read and change the store.
+ */
+final class StampedStore extends Store {
+
+    private final StampedLock synchronization = new ReentrantStampedLock();
+    private final Map<String, Value<Object>> properties = new ConcurrentHashMap<>();
+
+    @Override
+    Value<Object> get(final String property) {
+        final long stamp = this.synchronization.tryOptimisticRead();
+        if (stamp != 0) {
+            final Value<Object> reference = this.properties.get(property);
+            if (this.synchronization.validate(stamp)) {
+                return reference;
+            }
+        }
+        final long readStamp = this.synchronization.readLock();
+        try {
+            return this.properties.get(property);
+        }
+        finally {
+            this.synchronization.unlockRead(readStamp);
+        }
+    }
+
+    @Override
+    Value<Object> computeIfAbsent(final String property) {
+        final Value<Object> reference = this.get(property);
+        if (reference != null) {
+            return reference;
+        }
+        final long stamp = this.synchronization.writeLock();
+        try {
+            final int size = this.properties.size();
+            final Value<Object> value = this.properties.computeIfAbsent(property, string -> Value.to(null));
+            if (this.properties.size() != size) {
+                this.modified();
+            }
+            return value;
+        }
+        finally {
+            this.synchronization.unlockWrite(stamp);
+        }
+    }
+
+    @Override
+    Value<Object> remove(final String property) {
+        final long stamp = this.synchronization.writeLock();
+        try {
+            final Value<Object> reference = this.properties.remove(property);
+            if (reference != null) {
+                this.modified();
+            }
+            return reference;
+        }
+        finally {
+            this.synchronization.unlockWrite(stamp);
+        }
+    }
+
+    @Override
+    void update(final Consumer<Map<String, Value<Object>>> function) {
+        final long stamp = this.synchronization.writeLock();
+        try {
+            function.accept(this.properties);
+            this.modified();
+        }
+        finally {
+            this.synchronization.unlockWrite(stamp);
+        }
+    }
+
+    @Override
+    <A> A read(final Function<Map<String, Value<Object>>, A> function) {
+        final long stamp = this.synchronization.readLock();
+        try {
+            return function.apply(this.properties);
+        }
+        finally {
+            this.synchronization.unlockRead(stamp);
+        }
+    }
+
+    @Override
+    Map<String, Value<Object>> snapshot() {
+        final long stamp = this.synchronization.readLock();
+        try {
+            return new HashMap<>(this.properties);
+        }
+        finally {
+            this.synchronization.unlockRead(stamp);
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package com.configurable;
+
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ *  Backing storage for the properties of a {@link Configuration}. Each implementation maps property names to the
+ *  {@link Value} instances holding them and decides how concurrent access to that mapping is synchronized.
+ */
+abstract class Store {
+
+    private final AtomicLong version = new AtomicLong();
+
+    /**
+     *  Returns a counter which changes whenever a property may have been added or removed. Implementations update it
+     *  only after the change is visible, so a lookup made after reading the counter observes every change preceding it.
+     *
+     * @return The structural version of the mapping
+     */
+    final long getVersion() {
+        return this.version.get();
+    }
+
+    /**
+     *  Records that a property was added or removed
+     */
+    final void modified() {
+        this.version.incrementAndGet();
+    }
+
+    /**
+     *  Returns the Value mapped to the specified property, or null if there is none
+     *
+     * @param property The property name
+     * @return The mapped Value, or null
+     */
+    abstract Value<Object> get(final String property);
+
+    /**
+     *  Returns the Value mapped to the specified property, mapping a new empty Value first if there is none
+     *
+     * @param property The property name
+     * @return The mapped Value
+     */
+    abstract Value<Object> computeIfAbsent(final String property);
+
+    /**
+     *  Returns the value of the specified property
+     *
+     * @param property The property name
+     * @return The value, or null if the property does not exist
+     */
+    Object load(final String property) {
+        final Value<Object> reference = this.get(property);
+        return (reference != null) ? reference.get() : null;
+    }
+
+    /**
+     *  Returns the Value mapped to the specified property as {@link #computeIfAbsent(String)}, making sure it is the
+     *  instance every later lookup returns, so subscribers registered on it observe all changes to the property
+     *
+     * @param property The property name
+     * @return The mapped Value
+     */
+    Value<Object> pin(final String property) {
+        return this.computeIfAbsent(property);
+    }
+
+    /**
+     *  Removes the mapping for the specified property
+     *
+     * @param property The property name
+     * @return The previously mapped Value, or null if there was none
+     */
+    abstract Value<Object> remove(final String property);
+
+    /**
+     *  Runs the specified function with exclusive access to a mutable view of the mapping. Changes made by the function
+     *  become visible to readers once it returns.
+     *
+     * @param function The function applying the changes
+     */
+    abstract void update(final Consumer<Map<String, Value<Object>>> function);
+
+    /**
+     *  Runs the specified function with access to the mapping which excludes concurrent calls to
+     *  {@link #update(Consumer)}, so the function observes either all or none of the changes of an update
+     *
+     * @param function The function reading the mapping
+     * @return The result of the function
+     */
+    abstract <A> A read(final Function<Map<String, Value<Object>>, A> function);
+
+    /**
+     *  Returns a point-in-time view of the mapping which is not affected by later changes
+     *
+     * @return The current mapping
+     */
+    abstract Map<String, Value<Object>> snapshot();
+
+    static Store create(final Configuration.Mode mode) {
+        switch (mode) {
+            case SNAPSHOT:
+                return new SnapshotStore();
+            case CONCURRENT:
+                return new ConcurrentStore();
+            case STAMPED:
+                return new StampedStore();
+            case DENSE:
+                return new DenseStore();
+            case LOCKING:
+            default:
+                return new LockingStore();
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.configurable;
+
+import java.util.Objects;
+import java.util.concurrent.Executor;
+import java.util.logging.Logger;
+
+/**
+ *  A {@link Listener} registered on a {@link Value}, together with the {@link Executor} it is notified on
+ *
+ * @param <A> The Type of the observed value
+ */
+public final class Subscription<A> {
+    private static final Logger LOG = Logger.getLogger("Configurable");
+
+    private final Value<A> value;
+    private final Listener<? super A> listener;
+    private final Executor executor;
+
+    Subscription(final Value<A> value, final Listener<? super A> listener, final Executor executor) {
+        this.value = Objects.requireNonNull(value);
+        this.listener = Objects.requireNonNull(listener);
+        this.executor = Objects.requireNonNull(executor);
+    }
+
+    /**
+     *  Stops notifying the listener of this subscription. Notifications already handed to the executor may still run.
+     */
+    public void cancel() {
+        this.value.unsubscribe(this);
+    }
+
+    Executor getExecutor() {
+        return this.executor;
+    }
+
+    void dispatch(final A oldValue, final A newValue) {
+        this.executor.execute(() -> this.notify(oldValue, newValue));
+    }
+
+    void notify(final A oldValue, final A newValue) {
+        try {
+            this.listener.changed(oldValue, newValue);
+        }
+        catch (final RuntimeException exception) {
+            LOG.severe("Listener " + this.listener + " failed: " + exception);
+        }
+    }
+}
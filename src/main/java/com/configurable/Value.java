@@ -1,5 +1,12 @@
 package com.configurable;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+import java.util.function.BinaryOperator;
 import java.util.function.Predicate;
 import java.util.function.UnaryOperator;
 
@@ -8,13 +15,26 @@ import java.util.function.UnaryOperator;
  *  An instance of this class is coupled with its associated {@link Configuration} instance and as such changes to this
  *  value will be reflected in the Configuration object.
  *
+ *  A change made on one thread, for instance by a reload, is always visible to threads reading this value afterwards,
+ *  including threads polling it in a loop. How strongly writes are ordered is chosen per instance with {@link Memory}.
+ *
  * @param <A> The Type of the Configuration value
  */
 public class Value<A> {
 
-    private A value;
+    @SuppressWarnings("rawtypes")
+    private static final AtomicReferenceFieldUpdater<Value, Object> VALUE = AtomicReferenceFieldUpdater.newUpdater(Value.class, Object.class, "value");
+
+    private final Memory memory;
+    private volatile A value;
+    private volatile List<Subscription<A>> subscriptions = Collections.emptyList();
 
     protected Value(final A value) {
+        this(value, Memory.RELEASE);
+    }
+
+    protected Value(final A value, final Memory memory) {
+        this.memory = Objects.requireNonNull(memory);
         this.value = value;
     }
 
@@ -36,51 +56,302 @@ public class Value<A> {
      * @return The backing value, or the specified default value if it is null
      */
     public A getOrDefault(final A value) {
-        return (this.value != null) ? this.value : value;
+        final A current = this.load();
+        return (current != null) ? current : value;
     }
 
     /**
      *  Sets the value for this Configuration property.
-     *  This change will propagate to the backing Configuration object.
+     *  This change will propagate to the backing Configuration object. The value is swapped atomically, so concurrent
+     *  calls each return the value they actually replaced.
      *
      * @param value The new value
      * @return THe old value
      */
     public A set(final A value) {
-        final A oldValue = this.value;
-        this.value = value;
+        final A newValue = this.normalize(value);
+        final A oldValue = this.swap(newValue);
+        this.changed(oldValue, newValue);
+        return oldValue;
+    }
+
+    /**
+     *  Sets the value for this Configuration property without returning the old value. When nothing is subscribed to
+     *  this value this is a single store ordered by the {@link Memory} of this value, and cheaper than
+     *  {@link #set(Object)}. Otherwise it behaves like {@link #set(Object)}.
+     *
+     * @param value The new value
+     */
+    public void put(final A value) {
+        if (this.isObserved()) {
+            this.set(value);
+        }
+        else {
+            this.store(value);
+        }
+    }
+
+    /**
+     *  Atomically sets this value to the specified update if it currently holds the expected value. Values are compared
+     *  by identity, except by the primitive Value types which compare the primitive values.
+     *
+     * @param expect The expected value
+     * @param update The new value
+     * @return true if the value was set, false if it did not hold the expected value
+     */
+    public boolean compareAndSet(final A expect, final A update) {
+        final A newValue = this.normalize(update);
+        if (!this.cas(expect, newValue)) {
+            return false;
+        }
+        this.changed(expect, newValue);
+        return true;
+    }
+
+    /**
+     *  Atomically replaces this value with the result of the specified function, retrying until no other thread changed
+     *  the value in between. The function may therefore be called more than once and should be free of side effects.
+     *
+     * @param function The update function
+     * @return The old value
+     */
+    public A getAndUpdate(final UnaryOperator<A> function) {
+        A oldValue;
+        A newValue;
+        do {
+            oldValue = this.load();
+            newValue = this.normalize(function.apply(oldValue));
+        }
+        while (!this.cas(oldValue, newValue));
+        this.changed(oldValue, newValue);
         return oldValue;
     }
 
     /**
-     *  Sets the value of this property to the output of the specified function when called with the current value
+     *  Atomically replaces this value with the result of the specified function, retrying until no other thread changed
+     *  the value in between. The function may therefore be called more than once and should be free of side effects.
+     *
+     * @param function The update function
+     * @return The new value
+     */
+    public A updateAndGet(final UnaryOperator<A> function) {
+        A oldValue;
+        A newValue;
+        do {
+            oldValue = this.load();
+            newValue = this.normalize(function.apply(oldValue));
+        }
+        while (!this.cas(oldValue, newValue));
+        this.changed(oldValue, newValue);
+        return newValue;
+    }
+
+    /**
+     *  Atomically replaces this value with the result of the specified function applied to the current value and the
+     *  specified argument, retrying until no other thread changed the value in between. The function may therefore be
+     *  called more than once and should be free of side effects.
+     *
+     * @param value The second argument of the function
+     * @param function The accumulator function
+     * @return The new value
+     */
+    public A accumulateAndGet(final A value, final BinaryOperator<A> function) {
+        return this.updateAndGet(current -> function.apply(current, value));
+    }
+
+    /**
+     *  Atomically sets the value of this property to the output of the specified function when called with the current
+     *  value, see {@link #updateAndGet(UnaryOperator)}
      *
      * @param function The mapping function
      * @return this
      */
     public Value<A> map(final UnaryOperator<A> function) {
-        this.value = function.apply(this.value);
+        this.updateAndGet(function);
         return this;
     }
 
     /**
      *  Runs the current value of this property through the specified predicate. If the predicate returns true, no
-     *  changes are made. If the predicate returns false, the current value is set to null.
+     *  changes are made. If the predicate returns false, the current value is set to null. The test and the update
+     *  happen atomically.
      *
      * @param predicate The predicate to use
      * @return this
      */
     public Value<A> filter(final Predicate<A> predicate) {
-        this.value = predicate.test(this.value) ? this.value : null;
+        this.updateAndGet(value -> predicate.test(value) ? value : null);
         return this;
     }
 
+    /**
+     *  Registers a listener notified on the calling thread whenever this value changes
+     *
+     * @param listener The listener
+     * @return The subscription, which may be cancelled to stop notifications
+     */
+    public Subscription<A> subscribe(final Listener<? super A> listener) {
+        return this.subscribe(listener, Runnable::run);
+    }
+
+    /**
+     *  Registers a listener notified through the specified executor whenever this value changes. Changes made while a
+     *  Configuration applies many properties at once, such as during a reload, are delivered together in a single task
+     *  per executor once all properties are applied.
+     *
+     * @param listener The listener
+     * @param executor The executor notifications are dispatched to
+     * @return The subscription, which may be cancelled to stop notifications
+     */
+    public Subscription<A> subscribe(final Listener<? super A> listener, final Executor executor) {
+        final Subscription<A> subscription = new Subscription<>(this, listener, executor);
+        synchronized (this) {
+            final List<Subscription<A>> subscriptions = new ArrayList<>(this.subscriptions);
+            subscriptions.add(subscription);
+            this.subscriptions = Collections.unmodifiableList(subscriptions);
+        }
+        return subscription;
+    }
+
+    final void unsubscribe(final Subscription<A> subscription) {
+        synchronized (this) {
+            final List<Subscription<A>> subscriptions = new ArrayList<>(this.subscriptions);
+            if (subscriptions.remove(subscription)) {
+                this.subscriptions = subscriptions.isEmpty() ? Collections.emptyList() : Collections.unmodifiableList(subscriptions);
+            }
+        }
+    }
+
+    final List<Subscription<A>> getSubscriptions() {
+        return this.subscriptions;
+    }
+
+    final boolean isObserved() {
+        return !this.subscriptions.isEmpty();
+    }
+
+    /**
+     *  Reads the backing value. Subclasses storing their value in another form override this together with
+     *  {@link #store(Object)}.
+     *
+     * @return The backing value
+     */
+    A load() {
+        return this.value;
+    }
+
+    /**
+     *  Replaces the backing value without notifying subscribers
+     *
+     * @param value The new value
+     */
+    void store(final A value) {
+        if (this.memory == Memory.VOLATILE) {
+            this.value = value;
+        }
+        else {
+            VALUE.lazySet(this, value);
+        }
+    }
+
+    /**
+     *  Atomically replaces the backing value, without notifying subscribers
+     *
+     * @param value The new value, already normalized
+     * @return The value replaced
+     */
+    @SuppressWarnings("unchecked")
+    A swap(final A value) {
+        return (A) VALUE.getAndSet(this, value);
+    }
+
+    /**
+     *  Atomically replaces the backing value if it is the expected one, without notifying subscribers
+     *
+     * @param expect The expected value
+     * @param update The new value
+     * @return true if the value was replaced
+     */
+    boolean cas(final A expect, final A update) {
+        return VALUE.compareAndSet(this, expect, update);
+    }
+
+    /**
+     *  Returns the value the backing value becomes when the specified value is stored
+     *
+     * @param value The value to store
+     * @return The value actually stored
+     */
+    A normalize(final A value) {
+        return value;
+    }
+
+    /**
+     *  Sets this value from a value of unchecked type, such as one parsed from Json or passed to
+     *  {@link Configuration#set(String, Object)}. Subclasses holding a specific type coerce the value here.
+     *
+     * @param value The new value
+     * @return The old value
+     */
+    Object assign(final Object value) {
+        return this.set((A) value);
+    }
+
+    /**
+     *  Notifies subscribers that this value changed, or records the change against the running batch
+     *
+     * @param oldValue The previous value
+     * @param newValue The new value
+     */
+    void changed(final A oldValue, final A newValue) {
+        final List<Subscription<A>> subscriptions = this.subscriptions;
+        if (subscriptions.isEmpty() || Objects.equals(oldValue, newValue)) {
+            return;
+        }
+        if (!Batch.add(this, oldValue, newValue)) {
+            for (final Subscription<A> subscription : subscriptions) {
+                subscription.dispatch(oldValue, newValue);
+            }
+        }
+    }
+
     @Override
     public String toString() {
-        return this.getClass().getName() + "{value=" + this.value + "}";
+        return this.getClass().getName() + "{value=" + this.load() + "}";
+    }
+
+    final Memory getMemory() {
+        return this.memory;
     }
 
     public static <A> Value<A> to(final A value) {
         return new Value<>(value);
     }
+
+    public static <A> Value<A> to(final A value, final Memory memory) {
+        return new Value<>(value, memory);
+    }
+
+    /**
+     *  Selects the ordering of writes to a Value. Reads always have acquire semantics, so a reader observing a write also
+     *  observes everything the writer did before it, and can never keep using a stale value indefinitely.
+     *
+     *  Configurable targets Java 8, which has no VarHandle, so only the two orderings its atomic field updaters offer
+     *  are available: the plain and opaque modes of later releases cannot be selected, and reads are volatile in every
+     *  mode. Writes which report the value they replaced, such as {@link #set(Object)},
+     *  {@link #compareAndSet(Object, Object)} and the update methods, are atomic read-modify-write operations and as
+     *  such full fences in either mode. The mode therefore only orders {@link #put(Object)} on values nothing is
+     *  subscribed to.
+     */
+    public enum Memory {
+        /**
+         *  Writes are release stores. The cheapest mode guaranteeing safe publication, and the default.
+         */
+        RELEASE,
+        /**
+         *  Writes are volatile stores, additionally ordered against later reads of other volatile state by the writing
+         *  thread. Needed only when the writer itself relies on that ordering.
+         */
+        VOLATILE
+    }
 }
@@ -0,0 +1,142 @@
+package com.configurable;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.nio.file.*;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+
+/**
+ *  Reloads a {@link Configuration} from its file whenever the file changes.
+ *
+ *  A background thread waits on a {@link WatchService} for the directory of the file. Once a change is seen it waits
+ *  until the file has been quiet for the debounce period, so a burst of writes causes a single reload. The file is then
+ *  parsed on that thread, without holding any lock of the Configuration, and only the properties whose values changed
+ *  are set. Properties removed from the file keep their current values. A Configuration created by
+ *  {@link Configuration#map(File)} maps the replaced file instead, see {@link Configuration#reload(File)}.
+ */
+public final class Watcher implements Closeable {
+    private static final Logger LOG = Logger.getLogger("Configurable");
+
+    private final Configuration configuration;
+    private final Path path;
+    private final long debounce;
+    private final WatchService service;
+    private final Thread thread;
+
+    private volatile boolean closed = false;
+    private volatile long reloads = 0;
+    private volatile long latency = 0;
+    private volatile int changed = 0;
+
+    Watcher(final Configuration configuration, final File file, final long debounce) throws IOException {
+        this.configuration = Objects.requireNonNull(configuration);
+        this.path = file.toPath().toAbsolutePath();
+        this.debounce = debounce;
+        this.service = this.path.getFileSystem().newWatchService();
+        try {
+            this.path.getParent().register(this.service, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY);
+        }
+        catch (final IOException exception) {
+            this.service.close();
+            throw exception;
+        }
+        this.thread = new Thread(this::run, "Configurable Watcher " + this.path.getFileName());
+        this.thread.setDaemon(true);
+    }
+
+    Watcher start() {
+        this.thread.start();
+        return this;
+    }
+
+    /**
+     *  Returns the number of reloads completed so far
+     *
+     * @return The number of reloads
+     */
+    public long getReloadCount() {
+        return this.reloads;
+    }
+
+    /**
+     *  Returns the time the most recent reload took to parse and apply the file, excluding the debounce period
+     *
+     * @param unit The unit of the returned duration
+     * @return The latency of the most recent reload, or 0 if there has been none
+     */
+    public long getLastReloadLatency(final TimeUnit unit) {
+        return unit.convert(this.latency, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     *  Returns the number of properties the most recent reload changed
+     *
+     * @return The number of changed properties, or 0 if there has been no reload
+     */
+    public int getLastChangedCount() {
+        return this.changed;
+    }
+
+    /**
+     *  Stops watching the file. A reload already in progress completes.
+     */
+    @Override
+    public void close() throws IOException {
+        this.closed = true;
+        this.service.close();
+    }
+
+    private void run() {
+        try {
+            while (!this.closed) {
+                if (!this.isChanged(this.service.take())) {
+                    continue;
+                }
+                WatchKey key;
+                while ((key = this.service.poll(this.debounce, TimeUnit.MILLISECONDS)) != null) {
+                    this.isChanged(key);
+                }
+                this.reload();
+            }
+        }
+        catch (final ClosedWatchServiceException | InterruptedException exception) {
+            // Closed
+        }
+    }
+
+    private boolean isChanged(final WatchKey key) {
+        boolean changed = false;
+        for (final WatchEvent<?> event : key.pollEvents()) {
+            if (event.kind() == StandardWatchEventKinds.OVERFLOW || this.path.getFileName().equals(event.context())) {
+                changed = true;
+            }
+        }
+        key.reset();
+        return changed;
+    }
+
+    private void reload() {
+        final long start = System.nanoTime();
+        final int changed;
+        try {
+            changed = this.configuration.reload(this.path.toFile());
+        }
+        catch (final NoSuchFileException | FileNotFoundException exception) {
+            return;
+        }
+        catch (final IOException | RuntimeException exception) {
+            LOG.severe("Unable to reload " + this.path + ": " + exception.getMessage());
+            return;
+        }
+        final long latency = System.nanoTime() - start;
+
+        this.latency = latency;
+        this.changed = changed;
+        this.reloads++;
+        LOG.info("Reloaded " + this.path + " in " + TimeUnit.NANOSECONDS.toMillis(latency) + "ms, " + changed + " properties changed");
+    }
+}
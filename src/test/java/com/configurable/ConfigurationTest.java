@@ -0,0 +1,115 @@
+package com.configurable;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.util.*;
+
+import static org.junit.Assert.*;
+import static org.junit.Assume.assumeTrue;
+
+public class ConfigurationTest {
+
+    @Rule
+    public final TemporaryFolder folder = new TemporaryFolder();
+
+    private static Configuration create() {
+        final Configuration configuration = new Configuration();
+        configuration.set("port", 8080);
+        configuration.set("hosts", Arrays.asList("a", "b"));
+        return configuration;
+    }
+
+    @Test
+    public void roundTripsJsonInEveryMode() {
+        for (final Configuration.Durability durability : Configuration.Durability.values()) {
+            for (final Configuration.Mode mode : Configuration.Mode.values()) {
+                final File file = new File(this.folder.getRoot(), durability + "-" + mode + ".json");
+                create().write(file, durability);
+                final Configuration read = Configuration.read(file, mode);
+                assertEquals(8080, read.get("port"));
+                assertEquals(Arrays.asList("a", "b"), read.get("hosts"));
+            }
+        }
+    }
+
+    @Test
+    public void leavesNoTemporaryFiles() throws IOException {
+        final File file = new File(this.folder.getRoot(), "config.json");
+        create().write(file, Configuration.Durability.SYNC);
+        create().write(file, Configuration.Durability.ATOMIC);
+        try (final java.util.stream.Stream<Path> files = Files.list(this.folder.getRoot().toPath())) {
+            assertEquals(1, files.count());
+        }
+    }
+
+    @Test
+    public void keepsPermissionsAndSymbolicLinks() throws IOException {
+        assumeTrue(FileSystems.getDefault().supportedFileAttributeViews().contains("posix"));
+        final Path target = this.folder.newFile("target.json").toPath();
+        Files.setPosixFilePermissions(target, PosixFilePermissions.fromString("rw-------"));
+        final Path link = this.folder.getRoot().toPath().resolve("link.json");
+        Files.createSymbolicLink(link, Paths.get("target.json"));
+
+        create().write(link.toFile());
+
+        assertTrue(Files.isSymbolicLink(link));
+        assertEquals("rw-------", PosixFilePermissions.toString(Files.getPosixFilePermissions(target)));
+        assertEquals(8080, Configuration.read(target.toFile()).get("port"));
+    }
+
+    @Test
+    public void setsPropertiesInBulk() {
+        final Configuration configuration = create();
+        final List<Object> changes = new ArrayList<>();
+        configuration.subscribe("port", (oldValue, newValue) -> changes.add(newValue));
+        final Map<String, Object> values = new HashMap<>();
+        values.put("port", 9090);
+        values.put("hosts", null);
+        values.put("added", true);
+        configuration.setAll(values);
+        assertEquals(Collections.singletonList(9090), changes);
+        final Map<String, Object> expected = new LinkedHashMap<>();
+        expected.put("port", 9090);
+        expected.put("added", true);
+        assertEquals(expected, configuration.getAll(Arrays.asList("port", "hosts", "added")));
+    }
+
+    @Test
+    public void discardsFailedTransactions() {
+        final Configuration configuration = create();
+        try {
+            configuration.transaction(editor -> {
+                editor.set("port", 1);
+                throw new IllegalStateException();
+            });
+            fail();
+        }
+        catch (final IllegalStateException exception) {
+            assertEquals(8080, configuration.get("port"));
+        }
+    }
+
+    @Test(timeout = 30_000)
+    public void readsWithinTransactionsInEveryMode() {
+        for (final Configuration.Mode mode : Configuration.Mode.values()) {
+            final Configuration configuration = new Configuration(mode);
+            configuration.set("port", 8080);
+            final Key<Integer> port = Configuration.key("port", Integer.class);
+            configuration.transaction(editor -> {
+                editor.set("port", (Integer) configuration.get("port") + 1);
+                assertEquals(Integer.valueOf(8080), port.get(configuration));
+                assertEquals(Collections.singletonMap("port", 8080), configuration.getAll(Collections.singleton("port")));
+            });
+            assertEquals(mode.toString(), 8081, configuration.get("port"));
+        }
+    }
+}
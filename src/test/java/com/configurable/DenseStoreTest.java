@@ -0,0 +1,93 @@
+package com.configurable;
+
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.Assert.*;
+
+public class DenseStoreTest {
+
+    @Test
+    public void reusesFreedSlotsWithoutLeakingValues() {
+        final DenseStore store = new DenseStore();
+        final Value<Object> a = store.computeIfAbsent("a");
+        a.assign("a");
+        store.remove("a");
+        store.computeIfAbsent("b").assign("b");
+
+        assertNull(store.get("a"));
+        assertNull(store.load("a"));
+        assertNull(a.get());
+        assertEquals("b", store.load("b"));
+        a.assign("stale");
+        assertEquals("b", store.load("b"));
+    }
+
+    @Test
+    public void neverReadsAnotherPropertyFromAReusedSlot() throws InterruptedException {
+        final DenseStore store = new DenseStore();
+        final AtomicBoolean stop = new AtomicBoolean();
+        final Thread writer = new Thread(() -> {
+            for (int step = 0; !stop.get(); step++) {
+                final String property = (step % 2 == 0) ? "a" : "b";
+                store.computeIfAbsent(property).assign(property);
+                store.remove(property);
+            }
+        });
+        writer.start();
+        try {
+            final long end = System.nanoTime() + 500_000_000L;
+            while (System.nanoTime() < end) {
+                final Object loaded = store.load("a");
+                assertTrue(loaded == null || loaded.equals("a"));
+                final Value<Object> reference = store.get("a");
+                final Object value = (reference != null) ? reference.get() : null;
+                assertTrue(value == null || value.equals("a"));
+            }
+        }
+        finally {
+            stop.set(true);
+            writer.join();
+        }
+    }
+
+    @Test
+    public void growsPastOnePage() {
+        final Configuration configuration = new Configuration(Configuration.Mode.DENSE);
+        final Map<String, Object> expected = new HashMap<>();
+        for (int index = 0; index < 5000; index++) {
+            expected.put("key" + index, index);
+        }
+        configuration.setAll(expected);
+        for (int index = 0; index < 5000; index += 2) {
+            configuration.set("key" + index, null);
+            expected.remove("key" + index);
+        }
+        assertEquals(expected, configuration.getAll(expected.keySet()));
+        assertNull(configuration.get("key0"));
+    }
+
+    @Test
+    public void bindsPropertyFields() {
+        final Bound configuration = new Bound();
+        final AtomicReference<Object> changed = new AtomicReference<>();
+        configuration.subscribe("port", (oldValue, newValue) -> changed.set(newValue));
+        configuration.set("port", 9090);
+        assertEquals(9090, configuration.port.getAsInt());
+        assertEquals(9090, changed.get());
+        assertEquals(9090, configuration.get("port"));
+    }
+
+    static final class Bound extends Configuration {
+        @Property("port")
+        final IntValue port = IntValue.to(8080);
+
+        Bound() {
+            super(Mode.DENSE);
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package com.configurable;
+
+import com.google.gson.internal.LazilyParsedNumber;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.*;
+
+public class JsonTest {
+
+    @Rule
+    public final TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void narrowsIntegersToTheSmallestExactType() {
+        assertEquals(Integer.valueOf(1), Json.asNumber("1"));
+        assertEquals(Integer.valueOf(Integer.MIN_VALUE), Json.asNumber("-2147483648"));
+        assertEquals(Long.valueOf(2147483648L), Json.asNumber("2147483648"));
+        assertEquals(Long.valueOf(Long.MIN_VALUE), Json.asNumber("-9223372036854775808"));
+        assertEquals(new BigDecimal("9223372036854775808"), Json.asNumber("9223372036854775808"));
+    }
+
+    @Test
+    public void keepsFractionsExact() {
+        assertEquals(Double.valueOf(1.5), Json.asNumber("1.5"));
+        assertEquals(Double.valueOf(0.1), Json.asNumber("0.1"));
+        assertEquals(Double.valueOf(0.30000000000000004), Json.asNumber("0.30000000000000004"));
+        assertEquals(new BigDecimal("12345678901234567890.5"), Json.asNumber("12345678901234567890.5"));
+        assertEquals(new BigDecimal("1E400"), Json.asNumber("1E400"));
+    }
+
+    @Test
+    public void narrowsIntegralExponents() {
+        assertEquals(Integer.valueOf(1000), Json.asNumber("1e3"));
+    }
+
+    @Test
+    public void narrowsLazilyParsedNumbers() {
+        assertEquals(Integer.valueOf(42), Json.asNumber(new LazilyParsedNumber("42")));
+        assertEquals(Long.valueOf(1L << 40), Json.asNumber(new LazilyParsedNumber(String.valueOf(1L << 40))));
+    }
+
+    @Test(expected = NumberFormatException.class)
+    public void rejectsMalformedLiterals() {
+        Json.asNumber("1.2.3");
+    }
+
+    @Test
+    public void convertsExactly() {
+        assertEquals(Long.valueOf(5), Json.asLong(5));
+        assertEquals(Long.valueOf(5), Json.asLong(5.0));
+        assertNull(Json.asLong(5.5));
+        assertNull(Json.asLong(new BigDecimal("1e30")));
+        assertEquals(Double.valueOf(2), Json.asDouble(2));
+    }
+
+    @Test
+    public void readsNumbersLosslessly() throws Exception {
+        final File file = this.folder.newFile("numbers.json");
+        Files.write(file.toPath(), "{\"id\": 9007199254740993, \"size\": 3000000000, \"ratio\": 0.25, \"list\": [1, 2.5]}".getBytes(StandardCharsets.UTF_8));
+        final Map<String, Object> map = Configuration.parse(file);
+        assertEquals(9007199254740993L, map.get("id"));
+        assertEquals(3000000000L, map.get("size"));
+        assertEquals(0.25, map.get("ratio"));
+        assertEquals(Arrays.asList(1, 2.5), (List<?>) map.get("list"));
+    }
+}
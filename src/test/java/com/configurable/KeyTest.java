@@ -0,0 +1,60 @@
+package com.configurable;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class KeyTest {
+
+    @Test
+    public void followsAddedAndRemovedProperties() {
+        final Configuration configuration = new Configuration();
+        final Key<String> key = Configuration.key("host", String.class);
+        assertNull(key.get(configuration));
+        configuration.set("host", "localhost");
+        assertEquals("localhost", key.get(configuration));
+        configuration.set("host", "example.com");
+        assertEquals("example.com", key.get(configuration));
+        configuration.set("host", null);
+        assertNull(key.get(configuration));
+        key.set(configuration, "set");
+        assertEquals("set", configuration.get("host"));
+    }
+
+    @Test
+    public void isSharedBetweenConfigurations() {
+        final Configuration first = new Configuration();
+        final Configuration second = new Configuration(Configuration.Mode.STAMPED);
+        first.set("port", 1);
+        second.set("port", 2);
+        final Key<Integer> key = Configuration.key("port", Integer.class);
+        assertEquals(Integer.valueOf(1), key.get(first));
+        assertEquals(Integer.valueOf(2), key.get(second));
+        assertEquals(Integer.valueOf(1), key.get(first));
+    }
+
+    @Test
+    public void widensNarrowedNumbers() {
+        final Configuration configuration = new Configuration();
+        configuration.set("port", 8080);
+        configuration.set("ratio", 1);
+        assertEquals(Long.valueOf(8080), Configuration.key("port", Long.class).get(configuration));
+        assertEquals(Double.valueOf(1), Configuration.key("ratio", Double.class).get(configuration));
+        assertEquals(8080, Configuration.key("port", Number.class).get(configuration));
+        assertEquals(Long.valueOf(8080), Configuration.path("port", Long.class).get(configuration));
+    }
+
+    @Test(expected = ClassCastException.class)
+    public void rejectsInexactNumbers() {
+        final Configuration configuration = new Configuration();
+        configuration.set("ratio", 2.5);
+        Configuration.key("ratio", Long.class).get(configuration);
+    }
+
+    @Test(expected = ClassCastException.class)
+    public void rejectsOtherTypes() {
+        final Configuration configuration = new Configuration();
+        configuration.set("port", "8080");
+        Configuration.key("port", Integer.class).get(configuration);
+    }
+}
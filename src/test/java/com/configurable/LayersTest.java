@@ -0,0 +1,137 @@
+package com.configurable;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.*;
+
+import static org.junit.Assert.*;
+
+public class LayersTest {
+
+    @Rule
+    public final TemporaryFolder folder = new TemporaryFolder();
+
+    private final Map<String, Object> defaults = new HashMap<>();
+    private final Map<String, Object> overrides = new HashMap<>();
+
+    private static Source copy(final Map<String, Object> map) {
+        return () -> new HashMap<>(map);
+    }
+
+    @Test
+    public void laterLayersTakePrecedence() {
+        this.defaults.put("host", "localhost");
+        this.defaults.put("port", 80);
+        this.overrides.put("port", 8080);
+        final Configuration configuration = Configuration.layered(copy(this.defaults), copy(this.overrides)).getConfiguration();
+        assertEquals("localhost", configuration.get("host"));
+        assertEquals(8080, configuration.get("port"));
+    }
+
+    @Test
+    public void reloadsChangedLayers() {
+        this.defaults.put("host", "localhost");
+        this.defaults.put("port", 80);
+        this.overrides.put("port", 8080);
+        final Layers<Configuration> layers = Configuration.layered(copy(this.defaults), copy(this.overrides));
+        final Configuration configuration = layers.getConfiguration();
+        final List<Object> ports = new ArrayList<>();
+        configuration.subscribe("port", (oldValue, newValue) -> ports.add(newValue));
+
+        this.defaults.put("port", 81);
+        this.defaults.put("host", "example.com");
+        assertEquals(1, layers.reload(0));
+        assertEquals("example.com", configuration.get("host"));
+        assertEquals(8080, configuration.get("port"));
+
+        this.overrides.remove("port");
+        assertEquals(1, layers.reload(1));
+        assertEquals(81, configuration.get("port"));
+
+        this.defaults.remove("host");
+        assertEquals(1, layers.reload());
+        assertNull(configuration.get("host"));
+        assertEquals(Collections.singletonList(81), ports);
+    }
+
+    @Test
+    public void keepsLayersWhoseSourceFails() {
+        this.defaults.put("port", 80);
+        final boolean[] failing = new boolean[1];
+        final Layers<Configuration> layers = Configuration.layered(copy(this.defaults), () -> {
+            if (failing[0]) {
+                throw new IOException("unavailable");
+            }
+            return Collections.singletonMap("port", 8080);
+        });
+        failing[0] = true;
+        assertEquals(0, layers.reload(1));
+        assertEquals(8080, layers.getConfiguration().get("port"));
+    }
+
+    @Test
+    public void readsFilesAndSystemProperties() throws IOException {
+        final File file = this.folder.newFile("config.json");
+        Files.write(file.toPath(), "{\"port\": 8080, \"host\": \"file\"}".getBytes(StandardCharsets.UTF_8));
+        System.setProperty("layerstest.host", "property");
+        try {
+            final Configuration configuration = Configuration.layered(
+                    Source.file(file),
+                    Source.systemProperties("layerstest."),
+                    Source.file(new File(this.folder.getRoot(), "missing.json"))
+            ).getConfiguration();
+            assertEquals(8080, configuration.get("port"));
+            assertEquals("property", configuration.get("host"));
+        }
+        finally {
+            System.clearProperty("layerstest.host");
+        }
+    }
+
+    @Test
+    public void resetsBoundPropertiesNoLayerDefines() {
+        this.overrides.put("port", 2);
+        final Layers<Bound> layers = Bound.create(copy(this.overrides));
+        final Bound configuration = layers.getConfiguration();
+        assertEquals(2, configuration.port.getAsInt());
+
+        this.overrides.clear();
+        layers.reload();
+        assertEquals(1, configuration.port.getAsInt());
+        assertEquals(1, configuration.get("port"));
+
+        this.overrides.put("port", 3);
+        layers.reload();
+        assertEquals(3, configuration.port.getAsInt());
+        assertEquals(3, configuration.get("port"));
+    }
+
+    @Test
+    public void doesNotWriteHiddenDefaults() throws IOException {
+        this.overrides.put("port", 2);
+        final Bound configuration = Bound.create(copy(this.overrides)).getConfiguration();
+        final File file = new File(this.folder.getRoot(), "written.json");
+        configuration.write(file);
+        final Map<String, Object> written = Configuration.parse(file);
+        assertEquals(Collections.singletonMap("port", 2), written);
+    }
+
+    static final class Bound extends Configuration {
+        @Property("port")
+        final IntValue port = IntValue.to(1);
+
+        @Hidden
+        @Property("secret")
+        final Value<String> secret = Value.to("default");
+
+        static Layers<Bound> create(final Source... sources) {
+            return Configuration.layered(Bound::new, sources);
+        }
+    }
+}
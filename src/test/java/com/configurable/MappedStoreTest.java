@@ -0,0 +1,100 @@
+package com.configurable;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.*;
+
+import static org.junit.Assert.*;
+
+public class MappedStoreTest {
+
+    @Rule
+    public final TemporaryFolder folder = new TemporaryFolder();
+
+    private File file;
+    private Configuration source;
+
+    @Before
+    public void setUp() {
+        this.file = new File(this.folder.getRoot(), "config.snapshot");
+        this.source = new Configuration();
+        this.source.set("port", 8080);
+        this.source.set("host", "localhost");
+        this.source.set("db", Collections.singletonMap("pool", 10));
+        this.source.writeSnapshot(this.file);
+    }
+
+    @Test
+    public void readsTheMappedFile() throws IOException {
+        final Configuration mapped = Configuration.map(this.file);
+        assertEquals(8080, mapped.get("port"));
+        assertEquals("localhost", mapped.get("host"));
+        assertEquals(10, ((Map<?, ?>) mapped.get("db")).get("pool"));
+        assertNull(mapped.get("missing"));
+        assertEquals(Arrays.asList("port", "host"), new ArrayList<>(mapped.getAll(Arrays.asList("port", "missing", "host")).keySet()));
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void isReadOnly() throws IOException {
+        Configuration.map(this.file).set("port", 1);
+    }
+
+    @Test
+    public void picksUpReplacedFilesOnReload() throws IOException {
+        final Configuration mapped = Configuration.map(this.file);
+        final List<Object> changes = new ArrayList<>();
+        mapped.subscribe("port", (oldValue, newValue) -> changes.add(newValue));
+        final Key<Integer> port = Configuration.key("port", Integer.class);
+        assertEquals(Integer.valueOf(8080), port.get(mapped));
+
+        this.source.set("port", 9090);
+        this.source.set("host", null);
+        this.source.writeSnapshot(this.file);
+        assertEquals(1, mapped.reload(this.file));
+
+        assertEquals(9090, mapped.get("port"));
+        assertEquals(Integer.valueOf(9090), port.get(mapped));
+        assertNull(mapped.get("host"));
+        assertEquals(Collections.singletonList(9090), changes);
+    }
+
+    @Test
+    public void keepsSubscribedMissingPropertiesAbsent() throws IOException {
+        final Configuration mapped = Configuration.map(this.file);
+        final List<Object> changes = new ArrayList<>();
+        mapped.subscribe("added", (oldValue, newValue) -> changes.add(newValue));
+        assertNull(mapped.get("added"));
+        assertFalse(mapped.getAll(Collections.singleton("added")).containsKey("added"));
+        assertEquals(0, mapped.diff(Configuration.map(this.file)).size());
+
+        this.source.set("added", true);
+        this.source.writeSnapshot(this.file);
+        mapped.reload(this.file);
+        assertEquals(true, mapped.get("added"));
+
+        this.source.set("added", null);
+        this.source.writeSnapshot(this.file);
+        mapped.reload(this.file);
+        assertNull(mapped.get("added"));
+        assertFalse(mapped.getAll(Collections.singleton("added")).containsKey("added"));
+        assertEquals(Arrays.asList(true, null), changes);
+    }
+
+    @Test
+    public void keepsTheMappingWhenTheFileIsInvalid() throws IOException {
+        final Configuration mapped = Configuration.map(this.file);
+        this.source.write(this.file);
+        try {
+            mapped.reload(this.file);
+            fail();
+        }
+        catch (final IOException exception) {
+            assertEquals(8080, mapped.get("port"));
+        }
+    }
+}
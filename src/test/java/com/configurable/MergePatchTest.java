@@ -0,0 +1,121 @@
+package com.configurable;
+
+import com.google.gson.JsonNull;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import org.junit.Test;
+
+import java.util.*;
+
+import static org.junit.Assert.*;
+
+public class MergePatchTest {
+
+    private static JsonObject parse(final String json) {
+        return JsonParser.parseString(json).getAsJsonObject();
+    }
+
+    private static Configuration create(final String json) {
+        final Configuration configuration = new Configuration();
+        for (final Map.Entry<String, com.google.gson.JsonElement> entry : parse(json).entrySet()) {
+            configuration.set(entry.getKey(), MergePatch.fromElement(entry.getValue()));
+        }
+        return configuration;
+    }
+
+    @Test
+    public void diffsOnlyWhatChanged() {
+        final Configuration source = create("{\"a\": 1, \"b\": {\"c\": 2, \"d\": 3}, \"e\": [1, 2], \"f\": true}");
+        final Configuration target = create("{\"a\": 1, \"b\": {\"c\": 2, \"d\": 4}, \"e\": [1, 2, 3], \"g\": \"new\"}");
+        assertEquals(parse("{\"f\": null, \"b\": {\"d\": 4}, \"e\": [1, 2, 3], \"g\": \"new\"}"), source.diff(target));
+        assertEquals(0, source.diff(source).size());
+    }
+
+    @Test
+    public void appliedDiffsReproduceTheTarget() {
+        final Random random = new Random(42);
+        for (int attempt = 0; attempt < 100; attempt++) {
+            final Configuration source = random(random);
+            final Configuration target = random(random);
+            source.applyPatch(source.diff(target));
+            assertEquals(0, source.diff(target).size());
+            assertEquals(0, target.diff(source).size());
+        }
+    }
+
+    @Test
+    public void appliesMergePatches() {
+        final Configuration configuration = create("{\"a\": \"b\", \"c\": {\"d\": \"e\", \"f\": \"g\"}}");
+        assertEquals(2, configuration.applyPatch(parse("{\"a\": \"z\", \"c\": {\"f\": null}}")));
+        assertEquals("z", configuration.get("a"));
+        assertEquals(Collections.singletonMap("d", "e"), configuration.get("c"));
+
+        assertEquals(1, configuration.applyPatch(parse("{\"a\": null}")));
+        assertNull(configuration.get("a"));
+    }
+
+    @Test
+    public void touchesOnlyChangedProperties() {
+        final Configuration configuration = create("{\"a\": 1, \"b\": {\"c\": 2}}");
+        final List<String> changed = new ArrayList<>();
+        configuration.subscribe("a", (oldValue, newValue) -> changed.add("a"));
+        configuration.subscribe("b", (oldValue, newValue) -> changed.add("b"));
+        final Object nested = configuration.get("b");
+
+        assertEquals(0, configuration.applyPatch(parse("{\"a\": 1, \"b\": {\"c\": 2}}")));
+        assertSame(nested, configuration.get("b"));
+        assertEquals(1, configuration.applyPatch(parse("{\"b\": {\"d\": 3}}")));
+        assertEquals(Collections.singletonList("b"), changed);
+    }
+
+    @Test
+    public void sharesUnchangedMembers() {
+        final PersistentMap<String, Object> inner = PersistentMap.<String, Object>empty().with("x", 1);
+        final PersistentMap<String, Object> target = PersistentMap.<String, Object>empty().with("keep", inner).with("change", 1);
+        final PersistentMap<String, Object> patched = MergePatch.apply(target, parse("{\"change\": 2}"));
+        assertSame(inner, patched.get("keep"));
+        assertSame(target, MergePatch.apply(target, parse("{\"change\": 1, \"missing\": null}")));
+    }
+
+    @Test
+    public void replacesNonObjectsWithPatchedObjects() {
+        final JsonObject patch = new JsonObject();
+        patch.add("a", JsonNull.INSTANCE);
+        assertEquals(Collections.emptyMap(), MergePatch.apply("not an object", patch));
+    }
+
+    private static Configuration random(final Random random) {
+        final Configuration configuration = new Configuration();
+        for (int index = 0; index < 10; index++) {
+            if (random.nextBoolean()) {
+                configuration.set("key" + index, randomValue(random, 2));
+            }
+        }
+        return configuration;
+    }
+
+    private static Object randomValue(final Random random, final int depth) {
+        switch (random.nextInt(depth > 0 ? 5 : 3)) {
+            case 0:
+                return random.nextInt(3);
+            case 1:
+                return "value" + random.nextInt(3);
+            case 2:
+                return random.nextBoolean();
+            case 3: {
+                final Map<String, Object> map = new HashMap<>();
+                for (int index = random.nextInt(4); index > 0; index--) {
+                    map.put("member" + random.nextInt(4), randomValue(random, depth - 1));
+                }
+                return PersistentMap.of(map);
+            }
+            default: {
+                final List<Object> list = new ArrayList<>();
+                for (int index = random.nextInt(3); index > 0; index--) {
+                    list.add(randomValue(random, depth - 1));
+                }
+                return PersistentVector.of(list);
+            }
+        }
+    }
+}
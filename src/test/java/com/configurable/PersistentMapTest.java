@@ -0,0 +1,103 @@
+package com.configurable;
+
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class PersistentMapTest {
+
+    @Test
+    public void matchesHashMapUnderRandomChanges() {
+        final Random random = new Random(42);
+        final Map<Integer, Integer> expected = new HashMap<>();
+        PersistentMap<Integer, Integer> map = PersistentMap.empty();
+        for (int step = 0; step < 100000; step++) {
+            final int key = random.nextInt(2000);
+            if (random.nextInt(3) == 0) {
+                expected.remove(key);
+                map = map.without(key);
+            }
+            else {
+                expected.put(key, step);
+                map = map.with(key, step);
+            }
+        }
+        assertEquals(expected.size(), map.size());
+        assertEquals(expected, map);
+        assertEquals(expected.hashCode(), map.hashCode());
+        for (int key = 0; key < 2000; key++) {
+            assertEquals(expected.containsKey(key), map.containsKey(key));
+            assertEquals(expected.get(key), map.get(key));
+        }
+    }
+
+    @Test
+    public void keepsCollidingKeysApart() {
+        final Map<Collision, Integer> expected = new HashMap<>();
+        PersistentMap<Collision, Integer> map = PersistentMap.empty();
+        for (int index = 0; index < 100; index++) {
+            expected.put(new Collision(index), index);
+            map = map.with(new Collision(index), index);
+        }
+        assertEquals(expected, map);
+        for (int index = 0; index < 100; index += 2) {
+            expected.remove(new Collision(index));
+            map = map.without(new Collision(index));
+        }
+        assertEquals(expected, map);
+        assertNull(map.get(new Collision(0)));
+        assertEquals(Integer.valueOf(1), map.get(new Collision(1)));
+    }
+
+    @Test
+    public void leavesPreviousVersionsUnchanged() {
+        final PersistentMap<String, Integer> empty = PersistentMap.empty();
+        final PersistentMap<String, Integer> one = empty.with("a", 1);
+        final PersistentMap<String, Integer> two = one.with("b", 2);
+        final PersistentMap<String, Integer> changed = two.with("a", 3);
+        assertTrue(empty.isEmpty());
+        assertEquals(1, one.size());
+        assertEquals(Integer.valueOf(1), two.get("a"));
+        assertEquals(Integer.valueOf(3), changed.get("a"));
+        assertEquals(one, two.without("b"));
+    }
+
+    @Test
+    public void returnsSameInstanceWhenNothingChanges() {
+        final PersistentMap<String, Integer> map = PersistentMap.<String, Integer>empty().with("a", 1);
+        assertSame(map, map.without("missing"));
+        assertSame(map, map.with("a", 1));
+    }
+
+    @Test
+    public void copiesMaps() {
+        final Map<String, Object> expected = new HashMap<>();
+        expected.put("a", 1);
+        expected.put("b", null);
+        final PersistentMap<String, Object> map = PersistentMap.of(expected);
+        assertEquals(expected, map);
+        assertTrue(map.containsKey("b"));
+    }
+
+    private static final class Collision {
+        private final int id;
+
+        private Collision(final int id) {
+            this.id = id;
+        }
+
+        @Override
+        public boolean equals(final Object object) {
+            return (object instanceof Collision) && ((Collision) object).id == this.id;
+        }
+
+        @Override
+        public int hashCode() {
+            return 7;
+        }
+    }
+}
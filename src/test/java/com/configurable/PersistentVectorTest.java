@@ -0,0 +1,85 @@
+package com.configurable;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class PersistentVectorTest {
+
+    @Test
+    public void matchesArrayListUnderRandomChanges() {
+        final Random random = new Random(42);
+        final List<Integer> expected = new ArrayList<>();
+        PersistentVector<Integer> vector = PersistentVector.empty();
+        for (int step = 0; step < 50000; step++) {
+            final int operation = random.nextInt(10);
+            if (operation < 6 || expected.isEmpty()) {
+                expected.add(step);
+                vector = vector.plus(step);
+            }
+            else if (operation < 8) {
+                final int index = random.nextInt(expected.size());
+                expected.set(index, -step);
+                vector = vector.with(index, -step);
+            }
+            else {
+                expected.remove(expected.size() - 1);
+                vector = vector.withoutLast();
+            }
+        }
+        assertEquals(expected.size(), vector.size());
+        assertEquals(expected, vector);
+        assertEquals(expected.hashCode(), vector.hashCode());
+    }
+
+    @Test
+    public void growsAndShrinksAcrossLevels() {
+        final int size = 32 * 32 * 32 + 33;
+        PersistentVector<Integer> vector = PersistentVector.empty();
+        for (int index = 0; index < size; index++) {
+            vector = vector.plus(index);
+        }
+        for (int index = 0; index < size; index++) {
+            assertEquals(index, (int) vector.get(index));
+        }
+        for (int index = size; index > 0; index--) {
+            assertEquals(index - 1, (int) vector.get(index - 1));
+            vector = vector.withoutLast();
+            assertEquals(index - 1, vector.size());
+        }
+        assertTrue(vector.isEmpty());
+    }
+
+    @Test
+    public void removesAtAnyIndex() {
+        final List<Integer> expected = new ArrayList<>();
+        for (int index = 0; index < 100; index++) {
+            expected.add(index);
+        }
+        PersistentVector<Integer> vector = PersistentVector.of(expected);
+        vector = vector.without(50);
+        expected.remove(50);
+        assertEquals(expected, vector);
+    }
+
+    @Test
+    public void leavesPreviousVersionsUnchanged() {
+        final PersistentVector<String> one = PersistentVector.of(Collections.singletonList("a"));
+        final PersistentVector<String> two = one.plus("b");
+        final PersistentVector<String> changed = two.with(0, "c");
+        assertEquals(1, one.size());
+        assertEquals("a", two.get(0));
+        assertEquals("c", changed.get(0));
+        assertEquals(one, two.withoutLast());
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void rejectsIndicesOutOfRange() {
+        PersistentVector.of(Collections.singletonList("a")).get(1);
+    }
+}
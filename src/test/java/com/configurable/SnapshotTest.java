@@ -0,0 +1,153 @@
+package com.configurable;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.util.*;
+
+import static org.junit.Assert.*;
+
+public class SnapshotTest {
+
+    @Rule
+    public final TemporaryFolder folder = new TemporaryFolder();
+
+    private static Map<String, Object> getProperties() {
+        final Map<String, Object> nested = new HashMap<>();
+        nested.put("host", "localhost");
+        nested.put("ports", Arrays.asList(80, 443));
+        nested.put("empty", Collections.emptyMap());
+
+        final Map<String, Object> properties = new HashMap<>();
+        properties.put("int", 8080);
+        properties.put("negative", -1);
+        properties.put("long", 1L << 40);
+        properties.put("double", 0.25);
+        properties.put("decimal", new BigDecimal("12345678901234567890.5"));
+        properties.put("true", true);
+        properties.put("false", false);
+        properties.put("string", "caf\u00e9 \u2603");
+        properties.put("nested", nested);
+        properties.put("list", Arrays.asList("a", null, Collections.singletonList(1)));
+        for (int index = 0; index < 100; index++) {
+            properties.put("key" + index, "value" + (index % 10));
+        }
+        return properties;
+    }
+
+    @Test
+    public void roundTripsEveryValueType() {
+        final File file = new File(this.folder.getRoot(), "config.snapshot");
+        final Configuration configuration = new Configuration();
+        final Map<String, Object> properties = getProperties();
+        configuration.setAll(properties);
+        configuration.writeSnapshot(file);
+
+        final Configuration read = Configuration.readSnapshot(file);
+        assertEquals(properties, read.getAll(properties.keySet()));
+        assertTrue(read.get("nested") instanceof PersistentMap);
+        assertTrue(read.get("list") instanceof PersistentVector);
+    }
+
+    @Test
+    public void roundTripsEmptyConfigurations() throws IOException {
+        final File file = new File(this.folder.getRoot(), "empty.snapshot");
+        new Configuration().writeSnapshot(file);
+        assertTrue(Snapshot.read(file.toPath()).isEmpty());
+    }
+
+    @Test
+    public void readsInPlaceThroughTheIndex() throws IOException {
+        final File file = new File(this.folder.getRoot(), "config.snapshot");
+        final Configuration configuration = new Configuration();
+        configuration.setAll(getProperties());
+        configuration.writeSnapshot(file);
+
+        final Snapshot.Index index = new Snapshot.Index(ByteBuffer.wrap(Files.readAllBytes(file.toPath())));
+        assertEquals(getProperties().size(), index.size());
+        assertEquals(8080, index.get("int"));
+        assertEquals("value7", index.get("key17"));
+        assertTrue(index.contains("false"));
+        assertFalse(index.contains("missing"));
+        assertNull(index.get("missing"));
+    }
+
+    @Test(expected = IOException.class)
+    public void rejectsOtherFiles() throws IOException {
+        Snapshot.read(ByteBuffer.wrap("{\"json\": true}".getBytes()));
+    }
+
+    @Test
+    public void rejectsCorruptSnapshotsWithIOException() throws IOException {
+        final File file = new File(this.folder.getRoot(), "config.snapshot");
+        final Configuration configuration = new Configuration();
+        configuration.setAll(getProperties());
+        configuration.writeSnapshot(file);
+        final byte[] bytes = Files.readAllBytes(file.toPath());
+
+        final Random random = new Random(42);
+        for (int attempt = 0; attempt < 20000; attempt++) {
+            byte[] corrupt = bytes.clone();
+            for (int changes = random.nextInt(4) + 1; changes > 0; changes--) {
+                corrupt[8 + random.nextInt(corrupt.length - 8)] = (byte) random.nextInt();
+            }
+            if (random.nextInt(10) == 0) {
+                corrupt = Arrays.copyOf(corrupt, random.nextInt(corrupt.length));
+            }
+            try {
+                Snapshot.read(ByteBuffer.wrap(corrupt));
+            }
+            catch (final IOException exception) {
+                // Expected, anything else fails the test
+            }
+        }
+    }
+
+    @Test
+    public void loadsNothingFromACorruptFile() throws IOException {
+        final File file = new File(this.folder.getRoot(), "config.snapshot");
+        final Configuration configuration = new Configuration();
+        configuration.set("a", "b");
+        configuration.writeSnapshot(file);
+        final byte[] bytes = Files.readAllBytes(file.toPath());
+        Files.write(file.toPath(), Arrays.copyOf(bytes, bytes.length - 1));
+        assertNull(Configuration.readSnapshot(file).get("a"));
+    }
+
+    @Test
+    public void readsNothingFromNull() {
+        assertNull(Configuration.readSnapshot(null).get("a"));
+    }
+
+    @Test(expected = IOException.class)
+    public void rejectsDeeplyNestedValuesWithIOException() throws IOException {
+        final ByteBuffer buffer = ByteBuffer.allocate(3 * 100000 + 1);
+        while (buffer.remaining() > 1) {
+            buffer.put(Snapshot.MAP).put((byte) 1).put((byte) 0);
+        }
+        buffer.put(Snapshot.NULL).flip();
+        Snapshot.getValue(buffer, index -> "a");
+    }
+
+    @Test
+    public void keepsTheFileWhenValuesAreTooDeep() throws IOException {
+        final File file = new File(this.folder.getRoot(), "config.snapshot");
+        final Configuration configuration = new Configuration();
+        configuration.set("a", "b");
+        configuration.writeSnapshot(file);
+
+        Object value = "deep";
+        for (int depth = 0; depth <= Snapshot.MAX_DEPTH; depth++) {
+            value = Collections.singletonList(value);
+        }
+        configuration.set("a", value);
+        configuration.writeSnapshot(file);
+        assertEquals("b", Configuration.readSnapshot(file).get("a"));
+    }
+}
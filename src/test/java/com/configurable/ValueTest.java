@@ -0,0 +1,140 @@
+package com.configurable;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.Assert.*;
+
+public class ValueTest {
+
+    private static final int THREADS = 4;
+    private static final int INCREMENTS = 100_000;
+
+    /**
+     *  A plain field read in a loop may be hoisted out of it by the JIT, so the reader would never observe the write.
+     *  Reads are volatile whatever the {@link Value.Memory}, so this holds for every mode alike.
+     */
+    @Test(timeout = 10_000)
+    public void spinningReadersObserveWrites() throws InterruptedException {
+        final Value<Boolean> flag = Value.to(false);
+        final Thread reader = new Thread(() -> {
+            while (!flag.get()) {
+                // Spin until the write becomes visible
+            }
+        });
+        reader.start();
+        Thread.sleep(100);
+        flag.set(true);
+        reader.join();
+    }
+
+    @Test(timeout = 10_000)
+    public void publishesWhatTheWriterDidBefore() throws InterruptedException {
+        final int[] data = new int[1];
+        final Value<Integer> ready = Value.to(0);
+        final AtomicReference<Integer> seen = new AtomicReference<>();
+        final Thread reader = new Thread(() -> {
+            while (ready.get() == 0) {
+                // Spin until published
+            }
+            seen.set(data[0]);
+        });
+        reader.start();
+        data[0] = 42;
+        ready.set(1);
+        reader.join();
+        assertEquals(Integer.valueOf(42), seen.get());
+    }
+
+    @Test
+    public void updatesLoseNoWritesUnderContention() throws InterruptedException {
+        final Value<Integer> counter = Value.to(0);
+        final IntValue primitive = IntValue.to(0);
+        final Value<Integer> mapped = Value.to(0);
+        final CountDownLatch start = new CountDownLatch(1);
+        final List<Thread> threads = new ArrayList<>();
+        for (int thread = 0; thread < THREADS; thread++) {
+            threads.add(new Thread(() -> {
+                try {
+                    start.await();
+                }
+                catch (final InterruptedException exception) {
+                    return;
+                }
+                for (int increment = 0; increment < INCREMENTS; increment++) {
+                    counter.updateAndGet(value -> value + 1);
+                    primitive.accumulateAndGetAsInt(1, Integer::sum);
+                    mapped.map(value -> value + 1);
+                }
+            }));
+        }
+        threads.forEach(Thread::start);
+        start.countDown();
+        for (final Thread thread : threads) {
+            thread.join(TimeUnit.SECONDS.toMillis(30));
+        }
+        assertEquals(Integer.valueOf(THREADS * INCREMENTS), counter.get());
+        assertEquals(THREADS * INCREMENTS, primitive.getAsInt());
+        assertEquals(Integer.valueOf(THREADS * INCREMENTS), mapped.get());
+    }
+
+    /**
+     *  Every value written is replaced exactly once, by a later set or as the final value, if sets swap atomically.
+     */
+    @Test
+    public void setsReturnEachReplacedValueOnce() throws InterruptedException {
+        final Value<Integer> boxed = Value.to(0);
+        final IntValue primitive = IntValue.to(0);
+        final CountDownLatch start = new CountDownLatch(1);
+        final List<List<Integer>> replaced = new ArrayList<>();
+        final List<Thread> threads = new ArrayList<>();
+        for (int thread = 0; thread < THREADS; thread++) {
+            final int offset = thread * INCREMENTS;
+            final List<Integer> values = new ArrayList<>();
+            replaced.add(values);
+            threads.add(new Thread(() -> {
+                try {
+                    start.await();
+                }
+                catch (final InterruptedException exception) {
+                    return;
+                }
+                for (int increment = 1; increment <= INCREMENTS; increment++) {
+                    values.add(boxed.set(offset + increment));
+                    values.add(-primitive.setAsInt(-(offset + increment)));
+                }
+            }));
+        }
+        threads.forEach(Thread::start);
+        start.countDown();
+        for (final Thread thread : threads) {
+            thread.join(TimeUnit.SECONDS.toMillis(30));
+        }
+        final int[] counts = new int[THREADS * INCREMENTS + 1];
+        for (final List<Integer> values : replaced) {
+            for (final int value : values) {
+                counts[value]++;
+            }
+        }
+        counts[boxed.get()]++;
+        counts[-primitive.getAsInt()]++;
+        for (final int count : counts) {
+            assertEquals(2, count);
+        }
+    }
+
+    @Test
+    public void comparesAndSets() {
+        final Value<String> value = Value.to("a");
+        assertFalse(value.compareAndSet("b", "c"));
+        assertTrue(value.compareAndSet("a", "c"));
+        assertEquals("c", value.get());
+        assertEquals("c", value.getAndUpdate(string -> string + "d"));
+        assertEquals("cd", value.get());
+    }
+}